@@ -0,0 +1,29 @@
+package com.maybank.assessment.benchmark;
+
+import com.maybank.assessment.AssessmentApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the application without a web server, with its own in-memory database and without
+ * the snapshot, so no run restores the rows of the one before.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String database) {
+        return new SpringApplicationBuilder(AssessmentApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + database,
+                        "file.import.location=",
+                        "file.import.async=false",
+                        "snapshot.enabled=false",
+                        "spring.jpa.open-in-view=false",
+                        "logging.level.root=WARN")
+                .run();
+    }
+}
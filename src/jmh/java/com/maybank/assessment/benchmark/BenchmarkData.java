@@ -0,0 +1,72 @@
+package com.maybank.assessment.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Deterministic rows in the {@code dataSource.txt} layout: 1000 accounts, 300 customers and
+ * a handful of descriptions spread over 2018-2024, so every run sees the same data.
+ */
+final class BenchmarkData {
+
+    static final int ACCOUNTS = 1000;
+    static final int CUSTOMERS = 300;
+    static final String HEADER = "ACCOUNT_NUMBER|TRX_AMOUNT|DESCRIPTION|TRX_DATE|TRX_TIME|CUSTOMER_ID";
+    static final LocalDate FIRST_DATE = LocalDate.of(2018, 1, 1);
+    static final int DAYS = 7 * 365;
+
+    private static final String[] DESCRIPTIONS = {
+            "FUND TRANSFER", "ATM WITHDRWAL", "3rd Party FUND TRANSFER", "BILL PAYMENT", "SALARY CREDIT"
+    };
+
+    private BenchmarkData() {
+    }
+
+    static String account(int i) {
+        return Long.toString(8800000000L + i);
+    }
+
+    static String customer(int i) {
+        return Integer.toString(i);
+    }
+
+    static String line(Random random) {
+        int account = random.nextInt(ACCOUNTS);
+        LocalDate date = FIRST_DATE.plusDays(random.nextInt(DAYS));
+        int seconds = random.nextInt(24 * 3600);
+        return account(account)
+                + '|' + (random.nextInt(100_000_000) / 100.0)
+                + '|' + DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)]
+                + '|' + date
+                + '|' + String.format("%02d:%02d:%02d", seconds / 3600, seconds / 60 % 60, seconds % 60)
+                + '|' + customer(account % CUSTOMERS);
+    }
+
+    static byte[] bytes(int rows) {
+        Random random = new Random(42);
+        StringBuilder out = new StringBuilder(rows * 64).append(HEADER).append("\r\n");
+        for (int i = 0; i < rows; i++) {
+            out.append(line(random)).append("\r\n");
+        }
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static Path file(int rows) throws IOException {
+        Path file = Files.createTempFile("transactions-" + rows + "-", ".txt");
+        Random random = new Random(42);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.write("\r\n");
+            for (int i = 0; i < rows; i++) {
+                writer.write(line(random));
+                writer.write("\r\n");
+            }
+        }
+        return file;
+    }
+}
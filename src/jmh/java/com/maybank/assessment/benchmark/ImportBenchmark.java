@@ -0,0 +1,58 @@
+package com.maybank.assessment.benchmark;
+
+import com.maybank.assessment.batch.TransactionFileImporter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end import of a generated file through {@link TransactionFileImporter}: parsing,
+ * chunked JDBC batch inserts, checkpoints and the post-commit listeners. Every iteration
+ * starts a fresh application context, so the database and in-memory indexes start empty.
+ * The 10M-row case needs a large heap (see {@code jvmArgsAppend}).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx12g"})
+public class ImportBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    public int rows;
+
+    private Path file;
+    private ConfigurableApplicationContext context;
+    private TransactionFileImporter importer;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        file = BenchmarkData.file(rows);
+    }
+
+    @Setup(Level.Iteration)
+    public void startContext() {
+        context = BenchmarkContext.start("import" + System.nanoTime());
+        importer = context.getBean(TransactionFileImporter.class);
+    }
+
+    @Benchmark
+    public long importFile() throws IOException {
+        return importer.importFile(file);
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopContext() {
+        context.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+}
@@ -0,0 +1,43 @@
+package com.maybank.assessment.benchmark;
+
+import com.maybank.assessment.batch.LineReader;
+import com.maybank.assessment.batch.TransactionLineParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/** Line reading and parsing exactly as {@code FileImportRunner} does it, without persistence. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LineParsingBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    private byte[] file;
+
+    @Setup
+    public void setup() {
+        file = BenchmarkData.bytes(ROWS);
+    }
+
+    /** Scored per row: the result is parsed rows per second. */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void parse(Blackhole blackhole) throws IOException {
+        LineReader reader = new LineReader(new ByteArrayInputStream(file), 64 * 1024);
+        TransactionLineParser parser = new TransactionLineParser();
+        reader.next();
+        while (reader.next()) {
+            if (reader.lineLength() > 0) {
+                blackhole.consume(parser.parse(reader.buffer(), reader.lineStart(), reader.lineLength(), reader.lineNumber()));
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.maybank.assessment.benchmark;
+
+import com.maybank.assessment.batch.TransactionFileImporter;
+import com.maybank.assessment.dto.TransactionRecordDTO;
+import com.maybank.assessment.dto.TransactionSearchCriteria;
+import com.maybank.assessment.service.TransactionRecordServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TransactionRecordServiceImpl#search} (offset pages, uncached) against 200k imported
+ * rows for each filter combination at several page depths.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SearchBenchmark {
+
+    private static final int ROWS = 200_000;
+    private static final int PAGE_SIZE = 10;
+
+    public enum Filter {
+        NONE, ACCOUNT, CUSTOMER, DATE_RANGE, ACCOUNT_DATE_RANGE, CUSTOMER_DATE_RANGE, DESCRIPTION, ACCOUNT_DESCRIPTION
+    }
+
+    @Param
+    public Filter filter;
+
+    @Param({"0", "10", "100"})
+    public int page;
+
+    private ConfigurableApplicationContext context;
+    private TransactionRecordServiceImpl service;
+    private TransactionSearchCriteria criteria;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        context = BenchmarkContext.start("search");
+        Path file = BenchmarkData.file(ROWS);
+        try {
+            context.getBean(TransactionFileImporter.class).importFile(file);
+        } finally {
+            Files.delete(file);
+        }
+        service = context.getBean(TransactionRecordServiceImpl.class);
+        criteria = criteria(filter);
+    }
+
+    @Benchmark
+    public Slice<TransactionRecordDTO> search() {
+        return service.search(criteria, PageRequest.of(page, PAGE_SIZE));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private static TransactionSearchCriteria criteria(Filter filter) {
+        LocalDate from = BenchmarkData.FIRST_DATE.plusYears(2);
+        LocalDate to = from.plusMonths(6);
+        TransactionSearchCriteria.TransactionSearchCriteriaBuilder builder = TransactionSearchCriteria.builder();
+        return switch (filter) {
+            case NONE -> builder.build();
+            case ACCOUNT -> builder.accountNumber(BenchmarkData.account(7)).build();
+            case CUSTOMER -> builder.customerId(BenchmarkData.customer(7)).build();
+            case DATE_RANGE -> builder.fromDate(from).toDate(to).build();
+            case ACCOUNT_DATE_RANGE -> builder.accountNumber(BenchmarkData.account(7)).fromDate(from).toDate(to).build();
+            case CUSTOMER_DATE_RANGE -> builder.customerId(BenchmarkData.customer(7)).fromDate(from).toDate(to).build();
+            case DESCRIPTION -> builder.description("salary").build();
+            case ACCOUNT_DESCRIPTION -> builder.accountNumber(BenchmarkData.account(7)).description("salary").build();
+        };
+    }
+}
@@ -0,0 +1,186 @@
+package com.maybank.assessment.aggregate;
+
+import com.maybank.assessment.dto.TransactionAggregateDTO;
+import com.maybank.assessment.entity.TransactionRecordEntity;
+import com.maybank.assessment.event.TransactionsImportedEvent;
+import com.maybank.assessment.event.TransactionsPurgedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Per-account and per-customer rollups (sum of {@code trxAmount}, row count, first and last
+ * {@code trxDate}), plus one over all rows, kept in memory so a lookup is a single map read.
+ * Each committed import chunk is folded in incrementally; {@link #rebuild()} recomputes
+ * everything from {@code transaction_records} for recovery and waits for in-flight chunks
+ * to commit.
+ */
+@Component
+public class TransactionRollupStore {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionRollupStore.class);
+
+    private volatile Map<String, Rollup> accounts = new ConcurrentHashMap<>();
+    private volatile Map<String, Rollup> customers = new ConcurrentHashMap<>();
+    private final AtomicReference<Rollup> overall = new AtomicReference<>(Rollup.EMPTY);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public Optional<TransactionAggregateDTO> forAccount(String accountNumber) {
+        return Optional.ofNullable(accounts.get(accountNumber)).map(r -> r.toDto(accountNumber));
+    }
+
+    public Optional<TransactionAggregateDTO> forCustomer(String customerId) {
+        return Optional.ofNullable(customers.get(customerId)).map(r -> r.toDto(customerId));
+    }
+
+    /** The rollup over every row; its {@code key} is {@code null}. */
+    public TransactionAggregateDTO overall() {
+        return overall.get().toDto(null);
+    }
+
+    /**
+     * Runs inside the chunk transaction and holds the read lock until it completes, so a
+     * {@link #rebuild()} either sees the chunk committed and folded in, or starts before it
+     * and the delta lands on the rebuilt maps; a chunk is never counted twice.
+     */
+    @EventListener
+    public void onImported(TransactionsImportedEvent event) {
+        Map<String, Rollup> accountDelta = summarise(event.records(), TransactionRecordEntity::getAccountNumber);
+        Map<String, Rollup> customerDelta = summarise(event.records(), TransactionRecordEntity::getCustomerId);
+        lock.readLock().lock();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                apply(accountDelta, customerDelta);
+            } finally {
+                lock.readLock().unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(accountDelta, customerDelta);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void loadExisting() {
+        rebuild();
+    }
+
+    /** First and last dates cannot be subtracted out, so a purge recomputes the rollups. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPurged(TransactionsPurgedEvent event) {
+        rebuild();
+    }
+
+    /** Recomputes both rollups with two GROUP BY scans and swaps them in atomically. */
+    @Transactional(readOnly = true)
+    public int rebuild() {
+        lock.writeLock().lock();
+        try {
+            accounts = groupBy("accountNumber");
+            customers = groupBy("customerId");
+            overall.set(accounts.values().stream().reduce(Rollup.EMPTY, Rollup::plus));
+            log.info("Rebuilt rollups for {} accounts and {} customers", accounts.size(), customers.size());
+            return accounts.size() + customers.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Map<String, Rollup> accountDelta, Map<String, Rollup> customerDelta) {
+        accountDelta.forEach((key, delta) -> accounts.merge(key, delta, Rollup::plus));
+        customerDelta.forEach((key, delta) -> customers.merge(key, delta, Rollup::plus));
+        Rollup total = accountDelta.values().stream().reduce(Rollup.EMPTY, Rollup::plus);
+        overall.accumulateAndGet(total, Rollup::plus);
+    }
+
+    private Map<String, Rollup> groupBy(String attribute) {
+        List<Object[]> rows = entityManager.createQuery(
+                        "select t." + attribute + ", sum(t.trxAmount), count(t), min(t.trxDate), max(t.trxDate)"
+                                + " from TransactionRecordEntity t group by t." + attribute, Object[].class)
+                .getResultList();
+        Map<String, Rollup> result = new ConcurrentHashMap<>(Math.max(16, rows.size() * 2));
+        for (Object[] row : rows) {
+            if (row[0] != null) {
+                result.put((String) row[0], new Rollup((BigDecimal) row[1], (Long) row[2], (LocalDate) row[3], (LocalDate) row[4]));
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, Rollup> summarise(List<TransactionRecordEntity> records,
+                                                 Function<TransactionRecordEntity, String> key) {
+        Map<String, Rollup> delta = new HashMap<>();
+        for (TransactionRecordEntity record : records) {
+            String k = key.apply(record);
+            if (k != null) {
+                delta.merge(k, Rollup.of(record), Rollup::plus);
+            }
+        }
+        return delta;
+    }
+
+    record Rollup(BigDecimal totalAmount, long count, LocalDate firstTrxDate, LocalDate lastTrxDate) {
+
+        static final Rollup EMPTY = new Rollup(BigDecimal.ZERO, 0, null, null);
+
+        static Rollup of(TransactionRecordEntity record) {
+            BigDecimal amount = record.getTrxAmount() == null ? BigDecimal.ZERO : record.getTrxAmount();
+            return new Rollup(amount, 1, record.getTrxDate(), record.getTrxDate());
+        }
+
+        Rollup plus(Rollup other) {
+            return new Rollup(totalAmount.add(other.totalAmount), count + other.count,
+                    earliest(firstTrxDate, other.firstTrxDate), latest(lastTrxDate, other.lastTrxDate));
+        }
+
+        TransactionAggregateDTO toDto(String key) {
+            return TransactionAggregateDTO.builder()
+                    .key(key)
+                    .totalAmount(totalAmount)
+                    .transactionCount(count)
+                    .firstTrxDate(firstTrxDate)
+                    .lastTrxDate(lastTrxDate)
+                    .build();
+        }
+
+        private static LocalDate earliest(LocalDate a, LocalDate b) {
+            return a == null ? b : b == null || a.isBefore(b) ? a : b;
+        }
+
+        private static LocalDate latest(LocalDate a, LocalDate b) {
+            return a == null ? b : b == null || a.isAfter(b) ? a : b;
+        }
+    }
+}
@@ -0,0 +1,474 @@
+package com.maybank.assessment.analytics;
+
+import com.maybank.assessment.dto.DailyTotalDTO;
+import com.maybank.assessment.dto.TransactionSearchCriteria;
+import com.maybank.assessment.dto.TransactionSummaryDTO;
+import com.maybank.assessment.entity.TransactionRecordEntity;
+import com.maybank.assessment.event.TransactionDescriptionChangedEvent;
+import com.maybank.assessment.event.TransactionsImportedEvent;
+import com.maybank.assessment.event.TransactionsPurgedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Column-oriented in-memory copy of {@code transaction_records} for analytical scans:
+ * amounts as {@code long} cents, dates as epoch days, times as seconds of day, and account
+ * and customer ids dictionary-encoded to {@code int} codes. Filters are the same as the
+ * transaction search and are evaluated by tight loops over primitive arrays, split into
+ * blocks that run on the common fork-join pool.
+ *
+ * <p>Like {@link com.maybank.assessment.index.DescriptionTrigramIndex}, existing rows are
+ * loaded once the context has started and the copy then follows import chunks, description
+ * updates and retention purges through events. Enabled with {@code analytics.columnar.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "analytics.columnar.enabled", havingValue = "true")
+public class ColumnarTransactionStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ColumnarTransactionStore.class);
+
+    /** Marks a missing date or a null account/customer; never matches an equality filter. */
+    static final int NONE = Integer.MIN_VALUE;
+    private static final int BLOCK_SIZE = 1 << 16;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Dictionary accountCodes = new Dictionary();
+    private final Dictionary customerCodes = new Dictionary();
+    private final RowIndex rowsById = new RowIndex();
+
+    private long[] ids = new long[1024];
+    private long[] amountCents = new long[1024];
+    private int[] epochDays = new int[1024];
+    private int[] secondsOfDay = new int[1024];
+    private int[] accounts = new int[1024];
+    private int[] customers = new int[1024];
+    /** Lower-cased, matching the {@code lower(description) like} of the search. */
+    private String[] descriptions = new String[1024];
+    private int size;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @EventListener(ApplicationStartedEvent.class)
+    @Transactional(readOnly = true)
+    public void loadExisting() {
+        long started = System.nanoTime();
+        try (Stream<Object[]> existing = entityManager
+                .createQuery("select t.id, t.accountNumber, t.trxAmount, t.description, t.trxDate, t.trxTime, t.customerId"
+                        + " from TransactionRecordEntity t", Object[].class)
+                .setHint("org.hibernate.fetchSize", 1000)
+                .getResultStream()) {
+            lock.writeLock().lock();
+            try {
+                existing.forEach(row -> append((Long) row[0], (String) row[1], (BigDecimal) row[2], (String) row[3],
+                        (LocalDate) row[4], (LocalTime) row[5], (String) row[6]));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Columnar snapshot loaded {} existing rows in {} ms", size, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onImported(TransactionsImportedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (TransactionRecordEntity record : event.records()) {
+                append(record.getId(), record.getAccountNumber(), record.getTrxAmount(), record.getDescription(),
+                        record.getTrxDate(), record.getTrxTime(), record.getCustomerId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids are not appended in order when ranges import in parallel, so the row is looked up in
+     * {@link #rowsById} rather than by a binary search of the id column.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDescriptionChanged(TransactionDescriptionChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            int row = rowsById.get(event.id());
+            if (row >= 0) {
+                descriptions[row] = lower(event.description());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Compacts the purged month out of every column, keeping the remaining rows in order; rows
+     * move, so the id index is rebuilt in the same pass.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPurged(TransactionsPurgedEvent event) {
+        YearMonth month = YearMonth.of(event.month() / 100, event.month() % 100);
+        int firstDay = (int) month.atDay(1).toEpochDay();
+        int lastDay = (int) month.atEndOfMonth().toEpochDay();
+        lock.writeLock().lock();
+        try {
+            rowsById.clear();
+            int kept = 0;
+            for (int row = 0; row < size; row++) {
+                if (epochDays[row] != NONE && epochDays[row] >= firstDay && epochDays[row] <= lastDay) {
+                    continue;
+                }
+                ids[kept] = ids[row];
+                amountCents[kept] = amountCents[row];
+                epochDays[kept] = epochDays[row];
+                secondsOfDay[kept] = secondsOfDay[row];
+                accounts[kept] = accounts[row];
+                customers[kept] = customers[row];
+                descriptions[kept] = descriptions[row];
+                rowsById.put(ids[kept], kept);
+                kept++;
+            }
+            Arrays.fill(descriptions, kept, size, null);
+            size = kept;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Count, amount total/min/max and first/last transaction of the rows matching {@code criteria}. */
+    public TransactionSummaryDTO summarize(TransactionSearchCriteria criteria) {
+        lock.readLock().lock();
+        try {
+            Filter filter = filter(criteria);
+            Summary summary = filter == null ? new Summary() : blocks()
+                    .mapToObj(block -> summarize(filter, block))
+                    .reduce(new Summary(), Summary::plus);
+            return summary.toDto();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Per-day count and amount total of the rows matching {@code criteria}, in date order. */
+    public List<DailyTotalDTO> dailyTotals(TransactionSearchCriteria criteria) {
+        lock.readLock().lock();
+        try {
+            Filter filter = filter(criteria);
+            if (filter == null) {
+                return List.of();
+            }
+            Map<Integer, long[]> totals = blocks()
+                    .mapToObj(block -> dailyTotals(filter, block))
+                    .reduce(new HashMap<>(), ColumnarTransactionStore::mergeDaily);
+            List<DailyTotalDTO> result = new ArrayList<>(totals.size());
+            totals.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(entry -> result.add(DailyTotalDTO.builder()
+                            .trxDate(LocalDate.ofEpochDay(entry.getKey()))
+                            .transactionCount(entry.getValue()[0])
+                            .totalAmount(BigDecimal.valueOf(entry.getValue()[1], 2))
+                            .build()));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private IntStream blocks() {
+        return IntStream.range(0, (size + BLOCK_SIZE - 1) / BLOCK_SIZE).parallel();
+    }
+
+    private Summary summarize(Filter filter, int block) {
+        Summary summary = new Summary();
+        int end = Math.min(size, (block + 1) * BLOCK_SIZE);
+        for (int row = block * BLOCK_SIZE; row < end; row++) {
+            if (filter.matches(row)) {
+                summary.add(amountCents[row], epochDays[row], secondsOfDay[row]);
+            }
+        }
+        return summary;
+    }
+
+    private Map<Integer, long[]> dailyTotals(Filter filter, int block) {
+        Map<Integer, long[]> totals = new HashMap<>();
+        int end = Math.min(size, (block + 1) * BLOCK_SIZE);
+        for (int row = block * BLOCK_SIZE; row < end; row++) {
+            if (filter.matches(row) && epochDays[row] != NONE) {
+                long[] total = totals.computeIfAbsent(epochDays[row], day -> new long[2]);
+                total[0]++;
+                total[1] += amountCents[row];
+            }
+        }
+        return totals;
+    }
+
+    private static Map<Integer, long[]> mergeDaily(Map<Integer, long[]> a, Map<Integer, long[]> b) {
+        Map<Integer, long[]> merged = new HashMap<>(a);
+        b.forEach((day, total) -> merged.merge(day, total, (x, y) -> new long[]{x[0] + y[0], x[1] + y[1]}));
+        return merged;
+    }
+
+    /** Resolves {@code criteria} to codes and day bounds, or {@code null} when nothing can match. */
+    private Filter filter(TransactionSearchCriteria criteria) {
+        if (criteria.getFromDate() != null && criteria.getToDate() != null
+                && criteria.getFromDate().isAfter(criteria.getToDate())) {
+            throw new IllegalArgumentException("fromDate must not be after toDate");
+        }
+        int account = NONE;
+        if (criteria.getAccountNumber() != null) {
+            account = accountCodes.find(criteria.getAccountNumber());
+            if (account == NONE) {
+                return null;
+            }
+        }
+        int customer = NONE;
+        if (criteria.getCustomerId() != null) {
+            customer = customerCodes.find(criteria.getCustomerId());
+            if (customer == NONE) {
+                return null;
+            }
+        }
+        int fromDay = Integer.MIN_VALUE + 1;
+        int toDay = Integer.MAX_VALUE;
+        if (criteria.getTrxDate() != null) {
+            fromDay = Math.max(fromDay, (int) criteria.getTrxDate().toEpochDay());
+            toDay = Math.min(toDay, (int) criteria.getTrxDate().toEpochDay());
+        }
+        if (criteria.getFromDate() != null) {
+            fromDay = Math.max(fromDay, (int) criteria.getFromDate().toEpochDay());
+        }
+        if (criteria.getToDate() != null) {
+            toDay = Math.min(toDay, (int) criteria.getToDate().toEpochDay());
+        }
+        if (fromDay > toDay) {
+            return null;
+        }
+        boolean dated = criteria.getTrxDate() != null || criteria.getFromDate() != null || criteria.getToDate() != null;
+        return new Filter(account, customer, dated, fromDay, toDay, lower(criteria.getDescription()));
+    }
+
+    private void append(Long id, String accountNumber, BigDecimal amount, String description,
+                        LocalDate date, LocalTime time, String customerId) {
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            amountCents = Arrays.copyOf(amountCents, capacity);
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            secondsOfDay = Arrays.copyOf(secondsOfDay, capacity);
+            accounts = Arrays.copyOf(accounts, capacity);
+            customers = Arrays.copyOf(customers, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+        }
+        ids[size] = id == null ? 0 : id;
+        amountCents[size] = amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        epochDays[size] = date == null ? NONE : (int) date.toEpochDay();
+        secondsOfDay[size] = time == null ? 0 : time.toSecondOfDay();
+        accounts[size] = accountCodes.encode(accountNumber);
+        customers[size] = customerCodes.encode(customerId);
+        descriptions[size] = lower(description);
+        rowsById.put(ids[size], size);
+        size++;
+    }
+
+    private static String lower(String text) {
+        return text == null ? null : text.toLowerCase(Locale.ROOT);
+    }
+
+    private final class Filter {
+
+        private final int account;
+        private final int customer;
+        private final boolean dated;
+        private final int fromDay;
+        private final int toDay;
+        private final String description;
+
+        private Filter(int account, int customer, boolean dated, int fromDay, int toDay, String description) {
+            this.account = account;
+            this.customer = customer;
+            this.dated = dated;
+            this.fromDay = fromDay;
+            this.toDay = toDay;
+            this.description = description;
+        }
+
+        /** Cheapest columns first; the description substring test only runs on rows that survive. */
+        boolean matches(int row) {
+            if (account != NONE && accounts[row] != account) {
+                return false;
+            }
+            if (customer != NONE && customers[row] != customer) {
+                return false;
+            }
+            if (dated) {
+                int day = epochDays[row];
+                if (day == NONE || day < fromDay || day > toDay) {
+                    return false;
+                }
+            }
+            return description == null || (descriptions[row] != null && descriptions[row].contains(description));
+        }
+    }
+
+    /** Value-to-code dictionary; codes are dense and assigned in first-seen order. */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        int encode(String value) {
+            if (value == null) {
+                return NONE;
+            }
+            return codes.computeIfAbsent(value, v -> codes.size());
+        }
+
+        int find(String value) {
+            Integer code = codes.get(value);
+            return code == null ? NONE : code;
+        }
+    }
+
+    /**
+     * Open-addressing map from id to row on primitive arrays, with linear probing and a load
+     * factor of at most one half. Id {@code 0} marks a free slot; sequence ids start at 1.
+     */
+    static final class RowIndex {
+
+        private long[] keys = new long[2048];
+        private int[] rows = new int[2048];
+        private int count;
+
+        void put(long id, int row) {
+            if (id == 0) {
+                return;
+            }
+            if ((count + 1) * 2 > keys.length) {
+                resize();
+            }
+            if (insert(keys, rows, id, row)) {
+                count++;
+            }
+        }
+
+        /** The row of {@code id}, or {@code -1}. */
+        int get(long id) {
+            int mask = keys.length - 1;
+            for (int slot = slot(id, mask); keys[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == id) {
+                    return rows[slot];
+                }
+            }
+            return -1;
+        }
+
+        void clear() {
+            Arrays.fill(keys, 0);
+            count = 0;
+        }
+
+        private void resize() {
+            long[] newKeys = new long[keys.length * 2];
+            int[] newRows = new int[keys.length * 2];
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != 0) {
+                    insert(newKeys, newRows, keys[slot], rows[slot]);
+                }
+            }
+            keys = newKeys;
+            rows = newRows;
+        }
+
+        /** Returns {@code true} when {@code id} took a free slot, {@code false} when it was updated. */
+        private static boolean insert(long[] keys, int[] rows, long id, int row) {
+            int mask = keys.length - 1;
+            int slot = slot(id, mask);
+            while (keys[slot] != 0 && keys[slot] != id) {
+                slot = (slot + 1) & mask;
+            }
+            boolean added = keys[slot] == 0;
+            keys[slot] = id;
+            rows[slot] = row;
+            return added;
+        }
+
+        private static int slot(long id, int mask) {
+            return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        }
+    }
+
+    private static final class Summary {
+
+        private long count;
+        private long totalCents;
+        private long minCents = Long.MAX_VALUE;
+        private long maxCents = Long.MIN_VALUE;
+        private long first = Long.MAX_VALUE;
+        private long last = Long.MIN_VALUE;
+
+        void add(long cents, int day, int seconds) {
+            count++;
+            totalCents += cents;
+            minCents = Math.min(minCents, cents);
+            maxCents = Math.max(maxCents, cents);
+            if (day != NONE) {
+                long at = day * 86_400L + seconds;
+                first = Math.min(first, at);
+                last = Math.max(last, at);
+            }
+        }
+
+        Summary plus(Summary other) {
+            Summary sum = new Summary();
+            sum.count = count + other.count;
+            sum.totalCents = totalCents + other.totalCents;
+            sum.minCents = Math.min(minCents, other.minCents);
+            sum.maxCents = Math.max(maxCents, other.maxCents);
+            sum.first = Math.min(first, other.first);
+            sum.last = Math.max(last, other.last);
+            return sum;
+        }
+
+        TransactionSummaryDTO toDto() {
+            return TransactionSummaryDTO.builder()
+                    .transactionCount(count)
+                    .totalAmount(BigDecimal.valueOf(totalCents, 2))
+                    .minAmount(count == 0 ? null : BigDecimal.valueOf(minCents, 2))
+                    .maxAmount(count == 0 ? null : BigDecimal.valueOf(maxCents, 2))
+                    .firstTransactionAt(first == Long.MAX_VALUE ? null : dateTime(first))
+                    .lastTransactionAt(last == Long.MIN_VALUE ? null : dateTime(last))
+                    .build();
+        }
+
+        private static LocalDateTime dateTime(long epochSeconds) {
+            return LocalDateTime.of(LocalDate.ofEpochDay(Math.floorDiv(epochSeconds, 86_400L)),
+                    LocalTime.ofSecondOfDay(Math.floorMod(epochSeconds, 86_400L)));
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.maybank.assessment.batch;
+
+import com.maybank.assessment.entity.TransactionRecordEntity;
+import com.maybank.assessment.repository.TransactionRecordRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Drops import rows whose line was already imported. Every line hash is first tested
+ * against an in-memory Bloom filter; only the hashes it may contain are looked up in
+ * {@code transaction_records}, in one query per chunk, so a file of new lines costs no
+ * extra reads. The unique index on {@code line_hash} stays the final guard.
+ *
+ * <p>Hashes of chunks still being written are held in an in-flight set until their
+ * transaction completes, so parallel workers never race to insert the same line.
+ */
+@Component
+public class DuplicateLineFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(DuplicateLineFilter.class);
+
+    private final TransactionRecordRepository repository;
+    private final Counter duplicates;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final BloomFilter bloom;
+    private volatile boolean ready;
+
+    public DuplicateLineFilter(TransactionRecordRepository repository, MeterRegistry registry,
+                               @Value("${file.import.dedupe.expected-rows:10000000}") long expectedRows,
+                               @Value("${file.import.dedupe.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.repository = repository;
+        this.bloom = new BloomFilter(expectedRows, falsePositiveRate);
+        this.duplicates = Counter.builder("transactions.import.duplicates")
+                .description("Import lines skipped because they were already imported")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void loadExisting() {
+        long[] rows = {0};
+        repository.forEachLineHash(hash -> {
+            bloom.add(hash);
+            rows[0]++;
+        });
+        ready = true;
+        log.info("Duplicate line filter loaded {} existing line hashes", rows[0]);
+    }
+
+    /**
+     * Returns the rows of {@code chunk} that are neither stored nor repeated earlier in the
+     * chunk or in another chunk being written. Must run inside the chunk's transaction: the
+     * kept hashes are released, and added to the Bloom filter, when it completes.
+     */
+    public List<TransactionRecordEntity> retainNew(List<TransactionRecordEntity> chunk) {
+        List<TransactionRecordEntity> kept = new ArrayList<>(chunk.size());
+        List<Long> reserved = new ArrayList<>(chunk.size());
+        Set<Long> candidates = new HashSet<>();
+        for (TransactionRecordEntity record : chunk) {
+            Long hash = record.getLineHash();
+            if (hash == null) {
+                kept.add(record);
+            } else if (inFlight.add(hash)) {
+                reserved.add(hash);
+                kept.add(record);
+                if (!ready || bloom.mightContain(hash)) {
+                    candidates.add(hash);
+                }
+            }
+        }
+        if (!candidates.isEmpty()) {
+            Set<Long> existing = repository.findExistingLineHashes(candidates);
+            if (!existing.isEmpty()) {
+                kept.removeIf(record -> existing.contains(record.getLineHash()));
+            }
+        }
+        duplicates.increment(chunk.size() - kept.size());
+        release(kept, reserved);
+        return kept;
+    }
+
+    private void release(List<TransactionRecordEntity> kept, List<Long> reserved) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remember(kept);
+            reserved.forEach(inFlight::remove);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remember(kept);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                reserved.forEach(inFlight::remove);
+            }
+        });
+    }
+
+    private void remember(List<TransactionRecordEntity> kept) {
+        for (TransactionRecordEntity record : kept) {
+            if (record.getLineHash() != null) {
+                bloom.add(record.getLineHash());
+            }
+        }
+    }
+
+    /**
+     * Fixed-size Bloom filter over 64-bit hashes, probed by double hashing. Past its expected
+     * size it still never under-reports; it only sends more lines to the database check.
+     */
+    static final class BloomFilter {
+
+        private final AtomicLongArray words;
+        private final long bits;
+        private final int probes;
+
+        BloomFilter(long expectedEntries, double falsePositiveRate) {
+            long n = Math.max(1, expectedEntries);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE - 8, (m + 63) / 64));
+            this.bits = words.length() * 64L;
+            this.probes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        }
+
+        void add(long hash) {
+            long h2 = secondHash(hash);
+            for (int i = 0; i < probes; i++) {
+                long bit = Math.floorMod(hash + i * h2, bits);
+                long mask = 1L << bit;
+                int word = (int) (bit >>> 6);
+                if ((words.get(word) & mask) == 0) {
+                    words.getAndAccumulate(word, mask, (a, b) -> a | b);
+                }
+            }
+        }
+
+        boolean mightContain(long hash) {
+            long h2 = secondHash(hash);
+            for (int i = 0; i < probes; i++) {
+                long bit = Math.floorMod(hash + i * h2, bits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long secondHash(long hash) {
+            return (Long.rotateLeft(hash, 32) * 0x9e3779b97f4a7c15L) | 1;
+        }
+    }
+}
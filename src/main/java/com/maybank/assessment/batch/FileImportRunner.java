@@ -1,39 +1,99 @@
 package com.maybank.assessment.batch;
 
 import com.maybank.assessment.entity.TransactionRecordEntity;
-import com.maybank.assessment.repository.TransactionRecordRepository;
+import com.maybank.assessment.event.TransactionImportCompletedEvent;
+import com.maybank.assessment.snapshot.TransactionSnapshotStore;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
-import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.time.LocalDate;
-import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Imports the configured file at startup. With {@code file.import.async} (the default) the
+ * import runs on a virtual thread so the HTTP port is usable immediately; readiness reports
+ * {@code REFUSING_TRAFFIC} until it completes and progress is served by {@code /api/import/progress}.
+ * A failed import marks liveness {@code BROKEN}, so the orchestrator restarts the instance and
+ * the import runs again rather than the pod staying out of rotation for good.
+ */
 @Component
 @RequiredArgsConstructor
 public class FileImportRunner implements CommandLineRunner {
 
     private static final Logger log = LoggerFactory.getLogger(FileImportRunner.class);
-    private final TransactionRecordRepository repository;
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+    private static final long SHUTDOWN_WAIT_SECONDS = 30;
+    private static final String EMBEDDED_SOURCE = "dataSource.txt";
+    /** Sizes the repeat scan of the embedded file, whose length is not known up front. */
+    private static final long EMBEDDED_EXPECTED_LINES = 1_000_000;
+    private final TransactionChunkWriter chunkWriter;
+    private final TransactionFileImporter fileImporter;
+    private final ImportProgress progress;
+    private final TransactionSnapshotStore snapshotStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
 
     @Value("${file.import.location:}")
     private String externalLocation;
 
+    @Value("${file.import.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${file.import.async:true}")
+    private boolean async;
+
+    @Value("${file.import.queue-capacity:2}")
+    private int queueCapacity;
+
     @Override
     public void run(String... args) throws Exception {
+        if (!async) {
+            importStartupFile();
+            return;
+        }
+        progress.setStartupImportPending(true);
+        executor.execute(() -> {
+            try {
+                importStartupFile();
+                progress.setStartupImportPending(false);
+            } catch (CancellationException e) {
+                log.info("Startup import stopped at shutdown; it runs again on the next start, resuming from"
+                        + " its checkpoint only for an external file on a persistent database");
+            } catch (Exception e) {
+                log.error("Startup import failed; marking liveness BROKEN so the instance is restarted", e);
+                AvailabilityChangeEvent.publish(eventPublisher, this, LivenessState.BROKEN);
+            }
+        });
+    }
+
+    /** Lets a running import finish its current chunk instead of abandoning it mid-transaction. */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        progress.cancelAll();
+        executor.shutdown();
+        if (!executor.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("Startup import did not stop within {}s", SHUTDOWN_WAIT_SECONDS);
+        }
+    }
+
+    private void importStartupFile() throws IOException {
         Path sourcePath = null;
 
         if (externalLocation != null && !externalLocation.isBlank()) {
@@ -45,57 +105,96 @@ public class FileImportRunner implements CommandLineRunner {
         }
 
         if (sourcePath == null) {
-            try (InputStream is = getClass().getClassLoader().getResourceAsStream("dataSource.txt")) {
+            if (snapshotStore.isRestored()) {
+                log.info("Rows restored from snapshot; skipping the embedded dataSource.txt");
+                return;
+            }
+            try (InputStream is = getClass().getClassLoader().getResourceAsStream(EMBEDDED_SOURCE)) {
                 if (is == null) {
                     log.warn("No classpath dataSource.txt found; skipping import entirely.");
                     return;
                 }
-                List<TransactionRecordEntity> list = new BufferedReader(new InputStreamReader(is))
-                        .lines().skip(1)
-                        .map(line -> line.split("\\|"))
-                        .map(p -> TransactionRecordEntity.builder()
-                                .accountNumber(p[0])
-                                .trxAmount(new BigDecimal(p[1]))
-                                .description(p[2])
-                                .trxDate(LocalDate.parse(p[3]))
-                                .trxTime(LocalTime.parse(p[4]))
-                                .customerId(p[5])
-                                .build())
-                        .collect(Collectors.toList());
-                repository.saveAll(list);
-                log.info("Imported {} records from embedded dataSource.txt", list.size());
+                LineOccurrences occurrences = LineOccurrences.scan(LineOccurrences.ofStream(
+                        () -> getClass().getClassLoader().getResourceAsStream(EMBEDDED_SOURCE), READ_BUFFER_BYTES),
+                        EMBEDDED_EXPECTED_LINES);
+                long imported = importLines(is, occurrences);
+                log.info("Imported {} records from embedded dataSource.txt", imported);
             }
             return;
         }
 
-        List<TransactionRecordEntity> records;
-        try (BufferedReader reader = Files.newBufferedReader(sourcePath)) {
-            records = reader.lines()
-                    .skip(1)
-                    .map(line -> line.split("\\|"))
-                    .map(p -> TransactionRecordEntity.builder()
-                            .accountNumber(p[0])
-                            .trxAmount(new BigDecimal(p[1]))
-                            .description(p[2])
-                            .trxDate(LocalDate.parse(p[3]))
-                            .trxTime(LocalTime.parse(p[4]))
-                            .customerId(p[5])
-                            .build())
-                    .collect(Collectors.toList());
-            repository.saveAll(records);
-            log.info("Imported {} records from {}", records.size(), sourcePath);
+        fileImporter.importAndArchive(sourcePath);
+    }
+
+    /**
+     * Streams the file body (header skipped) through an {@link ImportPipeline}: this thread
+     * reads and parses, a persist thread commits every {@code file.import.chunk-size} rows, so
+     * heap use is bounded by {@code file.import.queue-capacity} chunks rather than the file.
+     * Malformed lines go to {@code ./processed/dataSource.txt.rejected}, where an external
+     * {@code dataSource.txt} would be archived.
+     */
+    private long importLines(InputStream in, LineOccurrences occurrences) throws IOException {
+        ImportProgress.Tracker tracker = progress.begin("classpath:" + EMBEDDED_SOURCE, -1);
+        try (RejectedLineWriter rejects = RejectedLineWriter.forSource(Paths.get(EMBEDDED_SOURCE))) {
+            long imported = importLines(in, occurrences, rejects, tracker);
+            if (rejects.rejected() > 0) {
+                log.warn("Rejected {} malformed lines of embedded {}; see {}",
+                        rejects.rejected(), EMBEDDED_SOURCE, rejects.target());
+            }
+            tracker.complete();
+            eventPublisher.publishEvent(new TransactionImportCompletedEvent("classpath:dataSource.txt", imported));
+            return imported;
+        } catch (IOException | RuntimeException e) {
+            tracker.fail(e);
+            throw e;
         }
+    }
 
-        Path parentDir = sourcePath.getParent();
-        if (parentDir == null) {
-            parentDir = Paths.get("").toAbsolutePath();
+    private long importLines(InputStream in, LineOccurrences occurrences, RejectedLineWriter rejects,
+                             ImportProgress.Tracker tracker) throws IOException {
+        LineReader reader = new LineReader(in, READ_BUFFER_BYTES);
+        TransactionLineParser parser = new TransactionLineParser();
+        List<TransactionRecordEntity> chunk = new ArrayList<>(chunkSize);
+        long parseStarted = System.nanoTime();
+        try (ImportPipeline pipeline = new ImportPipeline("import-persist-embedded", queueCapacity, tracker)) {
+            reader.next();
+            while (reader.next()) {
+                if (reader.lineLength() == 0) {
+                    continue;
+                }
+                try {
+                    chunk.add(parser.parse(reader.buffer(), reader.lineStart(), reader.lineLength(), reader.lineNumber(),
+                            occurrences.at(reader.lineOffset())));
+                } catch (MalformedLineException e) {
+                    rejects.reject(e, reader.buffer(), reader.lineStart(), reader.lineLength());
+                    tracker.rejected(1);
+                }
+                if (chunk.size() >= chunkSize) {
+                    submit(pipeline, chunk, tracker, parseStarted);
+                    chunk = new ArrayList<>(chunkSize);
+                    parseStarted = System.nanoTime();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submit(pipeline, chunk, tracker, parseStarted);
+            }
+            return pipeline.finish();
         }
-        Path processedDir = parentDir.resolve("processed");
-        if (Files.notExists(processedDir)) {
-            Files.createDirectories(processedDir);
+    }
+
+    private void submit(ImportPipeline pipeline, List<TransactionRecordEntity> chunk, ImportProgress.Tracker tracker,
+                        long parseStarted) {
+        tracker.parsed(chunk.size(), System.nanoTime() - parseStarted);
+        pipeline.submit(() -> commit(chunk, tracker));
+    }
+
+    private int commit(List<TransactionRecordEntity> chunk, ImportProgress.Tracker tracker) {
+        if (tracker.isCancelled()) {
+            throw new CancellationException("Import cancelled");
         }
-        Path target = processedDir.resolve(sourcePath.getFileName());
-        Files.move(sourcePath, target, StandardCopyOption.REPLACE_EXISTING);
-        log.info("Moved {} → {}", sourcePath, target);
+        long persistStarted = System.nanoTime();
+        int written = chunkWriter.write(chunk);
+        tracker.committed(written, 0, System.nanoTime() - persistStarted);
+        return written;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,112 @@
+package com.maybank.assessment.batch;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.IntSupplier;
+
+/**
+ * Hands parsed chunks from the thread that reads and parses them to a persist thread over a
+ * bounded queue, so parsing the next chunk overlaps the database write of the previous one.
+ * When the writer falls behind the queue fills up and {@link #submit} blocks, which keeps
+ * memory bounded by {@code capacity} chunks.
+ *
+ * <p>Chunks are committed one at a time in submission order, so a range checkpoint only ever
+ * moves forward. The first persist failure stops the pipeline: queued chunks are skipped and
+ * the failure is rethrown to the parser by its next {@link #submit} or by {@link #finish}.
+ */
+final class ImportPipeline implements AutoCloseable {
+
+    private static final IntSupplier END = () -> 0;
+
+    private final BlockingQueue<IntSupplier> queue;
+    private final Thread persister;
+    private final ImportProgress.Tracker tracker;
+    private volatile long persisted;
+    private volatile Throwable failure;
+    private boolean finished;
+
+    ImportPipeline(String name, int capacity, ImportProgress.Tracker tracker) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.tracker = tracker;
+        this.persister = Thread.ofVirtual().name(name).start(this::drain);
+    }
+
+    /** Queues one chunk commit, blocking while the queue is full; returns its rows written later. */
+    void submit(IntSupplier commit) {
+        rethrowFailure();
+        try {
+            if (!queue.offer(commit)) {
+                long waitStarted = System.nanoTime();
+                queue.put(commit);
+                tracker.waited(System.nanoTime() - waitStarted);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing an import chunk", e);
+        }
+    }
+
+    /** Waits for every queued chunk to commit and returns the rows they wrote. */
+    long finish() {
+        finished = true;
+        try {
+            queue.put(END);
+            persister.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            persister.interrupt();
+            throw new IllegalStateException("Interrupted while waiting for import chunks to commit", e);
+        }
+        rethrowFailure();
+        return persisted;
+    }
+
+    /** Abandons a pipeline whose parser failed; the chunk being written still completes. */
+    @Override
+    public void close() {
+        if (!finished) {
+            if (failure == null) {
+                failure = new IllegalStateException("Import pipeline closed before it finished");
+            }
+            try {
+                queue.put(END);
+                persister.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                IntSupplier commit = queue.take();
+                if (commit == END) {
+                    return;
+                }
+                if (failure == null) {
+                    try {
+                        persisted += commit.getAsInt();
+                    } catch (Throwable e) {
+                        failure = e;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            failure = e;
+        }
+    }
+
+    private void rethrowFailure() {
+        Throwable cause = failure;
+        if (cause instanceof RuntimeException re) {
+            throw re;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        if (cause != null) {
+            throw new IllegalStateException("Import chunk could not be persisted", cause);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.maybank.assessment.batch;
+
+import com.maybank.assessment.dto.ImportProgressDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live counters for running imports plus the most recently finished one. Imports report
+ * through the {@link Tracker} returned by {@link #begin}; byte counts follow committed
+ * checkpoints, so the ETA is derived from the bytes committed since this run started.
+ *
+ * <p>The same calls feed Micrometer: per-chunk parse and persist timers, a committed-rows
+ * counter, a rejected-lines counter, the time parsers spend blocked on a full persist queue,
+ * a rows-per-second gauge over running imports and a per-file duration timer.
+ */
+@Component
+public class ImportProgress {
+
+    public enum State { RUNNING, COMPLETED, FAILED, CANCELLED }
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Tracker> active = new ConcurrentHashMap<>();
+    private volatile Tracker lastFinished;
+    private volatile boolean startupImportPending;
+
+    private final MeterRegistry registry;
+    private final Timer parseTimer;
+    private final Timer persistTimer;
+    private final Counter rowsCounter;
+    private final Counter rejectedCounter;
+    private final Timer queueWaitTimer;
+
+    public ImportProgress(MeterRegistry registry) {
+        this.registry = registry;
+        this.parseTimer = Timer.builder("transactions.import.parse")
+                .description("Time spent parsing one chunk")
+                .register(registry);
+        this.persistTimer = Timer.builder("transactions.import.persist")
+                .description("Time spent inserting and committing one chunk")
+                .register(registry);
+        this.rowsCounter = Counter.builder("transactions.import.rows")
+                .description("Rows committed by imports")
+                .register(registry);
+        this.rejectedCounter = Counter.builder("transactions.import.rejected")
+                .description("Lines that failed to parse and went to a .rejected file")
+                .register(registry);
+        this.queueWaitTimer = Timer.builder("transactions.import.queue.wait")
+                .description("Time a parser waited for room in the persist queue")
+                .register(registry);
+        Gauge.builder("transactions.import.rows.per.second", this, ImportProgress::rowsPerSecond)
+                .description("Commit rate of the running imports")
+                .register(registry);
+        Gauge.builder("transactions.import.active", active, Map::size)
+                .description("Imports currently running")
+                .register(registry);
+    }
+
+    /** @param totalBytes body bytes to import, or {@code -1} when the size is unknown */
+    public Tracker begin(String source, long totalBytes) {
+        Tracker tracker = new Tracker(sequence.incrementAndGet(), source, totalBytes);
+        active.put(tracker.id, tracker);
+        return tracker;
+    }
+
+    public List<ImportProgressDTO> snapshot() {
+        List<ImportProgressDTO> imports = new ArrayList<>();
+        active.values().forEach(tracker -> imports.add(tracker.toDto()));
+        Tracker finished = lastFinished;
+        if (finished != null) {
+            imports.add(finished.toDto());
+        }
+        return imports;
+    }
+
+    /** Asks running imports to stop after their current chunk commits. */
+    public void cancelAll() {
+        active.values().forEach(tracker -> tracker.cancelled = true);
+    }
+
+    private double rowsPerSecond() {
+        return active.values().stream().mapToDouble(Tracker::rowsPerSecond).sum();
+    }
+
+    public boolean isStartupImportPending() {
+        return startupImportPending;
+    }
+
+    public void setStartupImportPending(boolean startupImportPending) {
+        this.startupImportPending = startupImportPending;
+    }
+
+    public final class Tracker {
+
+        private final long id;
+        private final String source;
+        private final long totalBytes;
+        private final Instant startedAt = Instant.now();
+        private final long startNanos = System.nanoTime();
+        private final LongAdder rowsParsed = new LongAdder();
+        private final LongAdder rowsCommitted = new LongAdder();
+        private final LongAdder rowsRejected = new LongAdder();
+        private final LongAdder bytesCommitted = new LongAdder();
+        private volatile long resumedBytes;
+        private volatile long resumedRows;
+        private volatile long finishNanos;
+        private volatile State state = State.RUNNING;
+        private volatile String error;
+        private volatile boolean cancelled;
+
+        private Tracker(long id, String source, long totalBytes) {
+            this.id = id;
+            this.source = source;
+            this.totalBytes = totalBytes;
+        }
+
+        /** Rows and bytes already committed by an earlier, interrupted run of the same file. */
+        public void resumed(long rows, long bytes) {
+            rowsParsed.add(rows);
+            rowsCommitted.add(rows);
+            bytesCommitted.add(bytes);
+            resumedBytes = bytes;
+            resumedRows = rows;
+        }
+
+        public void parsed(int rows, long parseNanos) {
+            rowsParsed.add(rows);
+            parseTimer.record(parseNanos, TimeUnit.NANOSECONDS);
+        }
+
+        public void committed(int rows, long bytes, long persistNanos) {
+            rowsCommitted.add(rows);
+            bytesCommitted.add(bytes);
+            rowsCounter.increment(rows);
+            persistTimer.record(persistNanos, TimeUnit.NANOSECONDS);
+        }
+
+        public void rejected(int lines) {
+            rowsRejected.add(lines);
+            rejectedCounter.increment(lines);
+        }
+
+        /** Time a parser was blocked because the persist stage was {@code capacity} chunks behind. */
+        public void waited(long nanos) {
+            queueWaitTimer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public void complete() {
+            finish(State.COMPLETED, null);
+        }
+
+        public void fail(Throwable cause) {
+            finish(cancelled ? State.CANCELLED : State.FAILED, cause.getMessage());
+        }
+
+        private double rowsPerSecond() {
+            long elapsed = System.nanoTime() - startNanos;
+            return elapsed <= 0 ? 0 : (rowsCommitted.sum() - resumedRows) * 1e9 / elapsed;
+        }
+
+        private void finish(State state, String error) {
+            this.finishNanos = System.nanoTime();
+            Timer.builder("transactions.import.file")
+                    .description("Duration of one file import")
+                    .tag("outcome", state.name().toLowerCase())
+                    .register(registry)
+                    .record(finishNanos - startNanos, TimeUnit.NANOSECONDS);
+            this.error = error;
+            this.state = state;
+            active.remove(id);
+            lastFinished = this;
+        }
+
+        ImportProgressDTO toDto() {
+            long committedBytes = bytesCommitted.sum();
+            long end = state == State.RUNNING ? System.nanoTime() : finishNanos;
+            Duration elapsed = Duration.ofNanos(end - startNanos);
+            Double percent = totalBytes > 0 ? 100.0 * committedBytes / totalBytes : null;
+            Long etaSeconds = null;
+            long doneThisRun = committedBytes - resumedBytes;
+            if (state == State.RUNNING && totalBytes > 0 && doneThisRun > 0) {
+                etaSeconds = (long) ((double) elapsed.toNanos() * (totalBytes - committedBytes) / doneThisRun / 1e9);
+            }
+            return ImportProgressDTO.builder()
+                    .source(source)
+                    .state(state.name())
+                    .rowsParsed(rowsParsed.sum())
+                    .rowsCommitted(rowsCommitted.sum())
+                    .rowsRejected(rowsRejected.sum())
+                    .bytesCommitted(committedBytes)
+                    .totalBytes(totalBytes > 0 ? totalBytes : null)
+                    .percent(percent)
+                    .startedAt(startedAt)
+                    .elapsedSeconds(elapsed.toMillis() / 1000.0)
+                    .etaSeconds(etaSeconds)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.maybank.assessment.batch;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Watches {@code file.import.watch.directory} and imports files as they land, on its own
+ * thread once the application is ready. A file is picked up only after its size has stayed
+ * the same for {@code file.import.watch.settle-millis}, so half-copied files are not read.
+ * Files left over from a previous run are imported (or resumed from their checkpoint) first.
+ *
+ * <p>A file whose import fails stays queued and is retried after a backoff that starts at
+ * {@code file.import.watch.settle-millis} and doubles up to
+ * {@code file.import.watch.max-retry-millis}; each retry resumes from the range checkpoints
+ * the failed attempt committed.
+ */
+@Component
+@ConditionalOnProperty(name = "file.import.watch.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class InboxWatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(InboxWatcher.class);
+
+    private final TransactionFileImporter fileImporter;
+
+    @Value("${file.import.watch.directory:./inbox}")
+    private String directory;
+
+    @Value("${file.import.watch.settle-millis:1000}")
+    private long settleMillis;
+
+    @Value("${file.import.watch.max-retry-millis:60000}")
+    private long maxRetryMillis;
+
+    private final Map<Path, Long> pending = new LinkedHashMap<>();
+    private final Map<Path, Retry> retries = new HashMap<>();
+    private volatile boolean running;
+    private WatchService watchService;
+    private Thread worker;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        Path inbox = Paths.get(directory).toAbsolutePath().normalize();
+        Files.createDirectories(inbox);
+        watchService = inbox.getFileSystem().newWatchService();
+        inbox.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        running = true;
+        worker = Thread.ofPlatform().name("inbox-watcher").daemon().start(() -> watch(inbox));
+        log.info("Watching {} for import files", inbox);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        running = false;
+        if (watchService != null) {
+            watchService.close();
+        }
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    private void watch(Path inbox) {
+        scan(inbox);
+        try {
+            while (running) {
+                WatchKey key = watchService.poll(settleMillis, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            scan(inbox);
+                        } else {
+                            offer(inbox.resolve((Path) event.context()));
+                        }
+                    }
+                    key.reset();
+                }
+                importSettledFiles();
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            log.info("Stopped watching {}", inbox);
+        }
+    }
+
+    private void scan(Path inbox) {
+        try (Stream<Path> files = Files.list(inbox)) {
+            files.forEach(this::offer);
+        } catch (IOException e) {
+            log.error("Could not list {}", inbox, e);
+        }
+    }
+
+    void offer(Path file) {
+        String name = file.getFileName().toString();
+        if (Files.isRegularFile(file) && !name.startsWith(".") && !name.endsWith(".tmp") && !name.endsWith(".part")) {
+            pending.putIfAbsent(file, -1L);
+        }
+    }
+
+    /** Imports every queued file whose size has settled; a file leaves the queue only once imported. */
+    void importSettledFiles() {
+        Iterator<Map.Entry<Path, Long>> it = pending.entrySet().iterator();
+        while (it.hasNext() && running) {
+            Map.Entry<Path, Long> entry = it.next();
+            Path file = entry.getKey();
+            try {
+                if (Files.notExists(file)) {
+                    it.remove();
+                    retries.remove(file);
+                    continue;
+                }
+                long size = Files.size(file);
+                if (size != entry.getValue()) {
+                    entry.setValue(size);
+                    continue;
+                }
+                Retry retry = retries.get(file);
+                if (retry != null && System.nanoTime() < retry.notBefore()) {
+                    continue;
+                }
+                fileImporter.importAndArchive(file);
+                it.remove();
+                retries.remove(file);
+            } catch (Exception e) {
+                int failures = retries.containsKey(file) ? retries.get(file).failures() + 1 : 1;
+                long delayMillis = Math.min(maxRetryMillis, settleMillis << Math.min(failures - 1, 20));
+                retries.put(file, new Retry(failures, System.nanoTime() + delayMillis * 1_000_000));
+                log.error("Import of {} failed (attempt {}); retrying in {} ms from its checkpoint",
+                        file, failures, delayMillis, e);
+            }
+        }
+    }
+
+    private record Retry(int failures, long notBefore) {
+    }
+}
@@ -0,0 +1,100 @@
+package com.maybank.assessment.batch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Numbers the repeats of identical lines within one file by their position: the first copy
+ * of a line is occurrence 0, the next one further down the file 1, and so on. The number is
+ * part of the dedupe key ({@link TransactionLineParser#lineKey}), so a line imported again
+ * from another file is still dropped while a second, identical transaction in the same file
+ * is kept. Positions, not arrival order, decide the number, so parallel ranges and resumed
+ * imports give every line the same key as a fresh sequential import.
+ *
+ * <p>Built by up to two passes over the file's body lines: the first passes every line hash
+ * through a Bloom filter and keeps only those it may have seen; when there are any, the
+ * second counts just those hashes in file order. Only repeated lines are held in memory.
+ */
+final class LineOccurrences {
+
+    static final LineOccurrences NONE = new LineOccurrences(Map.of());
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    /** Line start offset to its occurrence number, for occurrences after the first. */
+    private final Map<Long, Integer> repeats;
+
+    private LineOccurrences(Map<Long, Integer> repeats) {
+        this.repeats = repeats;
+    }
+
+    /** Occurrence number of the line starting at {@code offset}; {@code 0} unless it repeats an earlier line. */
+    int at(long offset) {
+        Integer occurrence = repeats.get(offset);
+        return occurrence == null ? 0 : occurrence;
+    }
+
+    /** Scans {@code source}, which must yield the same lines at the same offsets on both passes. */
+    static LineOccurrences scan(LineSource source, long expectedLines) throws IOException {
+        DuplicateLineFilter.BloomFilter seen = new DuplicateLineFilter.BloomFilter(expectedLines, FALSE_POSITIVE_RATE);
+        Set<Long> candidates = new HashSet<>();
+        source.forEachLine((offset, line, from, length) -> {
+            long hash = TransactionLineParser.lineHash(line, from, length);
+            if (seen.mightContain(hash)) {
+                candidates.add(hash);
+            } else {
+                seen.add(hash);
+            }
+        });
+        if (candidates.isEmpty()) {
+            return NONE;
+        }
+        Map<Long, Integer> counts = new HashMap<>();
+        Map<Long, Integer> repeats = new HashMap<>();
+        source.forEachLine((offset, line, from, length) -> {
+            long hash = TransactionLineParser.lineHash(line, from, length);
+            if (candidates.contains(hash)) {
+                int occurrence = counts.merge(hash, 1, Integer::sum) - 1;
+                if (occurrence > 0) {
+                    repeats.put(offset, occurrence);
+                }
+            }
+        });
+        return new LineOccurrences(repeats);
+    }
+
+    /** The non-empty body lines (header skipped) of the stream {@code opener} returns, opened once per pass. */
+    static LineSource ofStream(StreamOpener opener, int bufferSize) {
+        return consumer -> {
+            try (InputStream in = opener.open()) {
+                LineReader reader = new LineReader(in, bufferSize);
+                reader.next();
+                while (reader.next()) {
+                    if (reader.lineLength() > 0) {
+                        consumer.accept(reader.lineOffset(), reader.buffer(), reader.lineStart(), reader.lineLength());
+                    }
+                }
+            }
+        };
+    }
+
+    /** One pass over the non-empty body lines of a file, without their line terminators. */
+    @FunctionalInterface
+    interface LineSource {
+        void forEachLine(LineConsumer consumer) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface LineConsumer {
+        void accept(long offset, byte[] line, int from, int length);
+    }
+
+    @FunctionalInterface
+    interface StreamOpener {
+        InputStream open() throws IOException;
+    }
+}
@@ -0,0 +1,107 @@
+package com.maybank.assessment.batch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Splits an {@link InputStream} into lines without decoding them, exposing each line as a
+ * slice of an internal buffer that is reused for the next call. Strips {@code '\n'} and a
+ * preceding {@code '\r'}, and tracks the 1-based line number of the current line, its
+ * stream offset and the stream offset just past it.
+ */
+public class LineReader {
+
+    private final InputStream in;
+    private byte[] buffer;
+    private int position;
+    private int limit;
+    private int lineStart;
+    private int lineLength;
+    private long lineNumber;
+    private long consumed;
+
+    public LineReader(InputStream in, int bufferSize) {
+        this.in = in;
+        this.buffer = new byte[bufferSize];
+    }
+
+    /** Advances to the next line; returns {@code false} at end of stream. */
+    public boolean next() throws IOException {
+        int scan = position;
+        while (true) {
+            for (; scan < limit; scan++) {
+                if (buffer[scan] == '\n') {
+                    setLine(position, scan);
+                    position = scan + 1;
+                    return true;
+                }
+            }
+            int consumed = scan - position;
+            if (!fill()) {
+                if (limit == position) {
+                    return false;
+                }
+                setLine(position, limit);
+                position = limit;
+                return true;
+            }
+            scan = position + consumed;
+        }
+    }
+
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    public int lineStart() {
+        return lineStart;
+    }
+
+    public int lineLength() {
+        return lineLength;
+    }
+
+    public long lineNumber() {
+        return lineNumber;
+    }
+
+    /** Stream offset of the first byte of the current line. */
+    public long lineOffset() {
+        return consumed + lineStart;
+    }
+
+    /** Bytes of the stream consumed up to and including the current line's terminator. */
+    public long offset() {
+        return consumed + position;
+    }
+
+    private void setLine(int from, int newline) {
+        int to = newline;
+        if (to > from && buffer[to - 1] == '\r') {
+            to--;
+        }
+        lineStart = from;
+        lineLength = to - from;
+        lineNumber++;
+    }
+
+    /** Compacts the unread tail to the front (growing if a line fills the buffer) and reads more. */
+    private boolean fill() throws IOException {
+        int remaining = limit - position;
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, remaining);
+        } else if (remaining == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        consumed += position;
+        position = 0;
+        limit = remaining;
+        int read = in.read(buffer, limit, buffer.length - limit);
+        if (read <= 0) {
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+}
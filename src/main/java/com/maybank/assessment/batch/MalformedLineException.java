@@ -0,0 +1,45 @@
+package com.maybank.assessment.batch;
+
+/**
+ * Raised by {@link TransactionLineParser} for a line that does not match the
+ * {@code dataSource.txt} layout. Carries the 1-based line and column so the bad
+ * input can be located without re-reading the file.
+ */
+public class MalformedLineException extends IllegalArgumentException {
+
+    private final long lineNumber;
+    private final int column;
+    private final String reason;
+
+    public MalformedLineException(long lineNumber, int column, String reason) {
+        super(format(lineNumber, column, reason));
+        this.lineNumber = lineNumber;
+        this.column = column;
+        this.reason = reason;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public String getColumnName() {
+        return TransactionLineParser.columnName(column);
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    /** Returns a copy pinned to {@code lineNumber}, for callers that only learn it after the fact. */
+    public MalformedLineException atLine(long lineNumber) {
+        return new MalformedLineException(lineNumber, column, reason);
+    }
+
+    private static String format(long lineNumber, int column, String reason) {
+        return "Line " + lineNumber + ", column " + column + " (" + TransactionLineParser.columnName(column) + "): " + reason;
+    }
+}
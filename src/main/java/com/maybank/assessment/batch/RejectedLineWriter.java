@@ -0,0 +1,81 @@
+package com.maybank.assessment.batch;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Dead-letter file for the lines of one import that failed to parse, written next to the
+ * archived file as {@code processed/<name>.rejected}. Each entry is a tab-separated line
+ * number, column, reason and the raw line. The file is only created on the first rejection
+ * and is appended to, so a resumed import adds to what the interrupted run wrote; lines
+ * after the last checkpoint may then be listed twice.
+ *
+ * <p>Shared by all workers of an import; {@link #reject} is synchronized.
+ */
+final class RejectedLineWriter implements Closeable {
+
+    static final String SUFFIX = ".rejected";
+    private static final String HEADER = "LINE\tCOLUMN\tREASON\tRAW";
+
+    private final Path target;
+    private BufferedWriter out;
+    private long rejected;
+
+    RejectedLineWriter(Path target) {
+        this.target = target;
+    }
+
+    /** The dead-letter file for {@code source}: {@code processed/<name>.rejected} beside it. */
+    static RejectedLineWriter forSource(Path source) {
+        return new RejectedLineWriter(TransactionFileImporter.processedDirectory(source)
+                .resolve(source.getFileName() + SUFFIX));
+    }
+
+    Path target() {
+        return target;
+    }
+
+    synchronized long rejected() {
+        return rejected;
+    }
+
+    synchronized void reject(MalformedLineException error, byte[] line, int offset, int length) {
+        try {
+            if (out == null) {
+                Files.createDirectories(target.toAbsolutePath().getParent());
+                boolean fresh = Files.notExists(target) || Files.size(target) == 0;
+                out = Files.newBufferedWriter(target, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                if (fresh) {
+                    out.write(HEADER);
+                    out.newLine();
+                }
+            }
+            out.write(Long.toString(error.getLineNumber()));
+            out.write('\t');
+            out.write(error.getColumnName());
+            out.write('\t');
+            out.write(error.getReason().replace('\t', ' ').replace('\n', ' '));
+            out.write('\t');
+            out.write(new String(line, offset, length, StandardCharsets.UTF_8));
+            out.newLine();
+            rejected++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not record a rejected line in " + target, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+}
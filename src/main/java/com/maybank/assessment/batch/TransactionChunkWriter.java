@@ -0,0 +1,61 @@
+package com.maybank.assessment.batch;
+
+import com.maybank.assessment.entity.TransactionRecordEntity;
+import com.maybank.assessment.event.TransactionsImportedEvent;
+import com.maybank.assessment.repository.ImportCheckpointRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Persists one import chunk per transaction. Lines already imported are dropped first by
+ * {@link DuplicateLineFilter}. The persistence context is flushed and cleared before commit
+ * so managed entities never accumulate across chunks, and a {@link TransactionsImportedEvent}
+ * is published for listeners to pick up on commit. Both writes return the rows inserted.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionChunkWriter {
+
+    private final ImportCheckpointRepository checkpointRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DuplicateLineFilter duplicateFilter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional
+    public int write(List<TransactionRecordEntity> chunk) {
+        return persist(chunk);
+    }
+
+    /**
+     * Persists the chunk and moves the checkpoint to {@code committedOffset} in the same
+     * transaction, so the checkpoint can never run ahead of (or behind) the stored rows.
+     */
+    @Transactional
+    public int write(List<TransactionRecordEntity> chunk, Long checkpointId, long committedOffset) {
+        int inserted = persist(chunk);
+        checkpointRepository.advance(checkpointId, committedOffset, inserted);
+        return inserted;
+    }
+
+    private int persist(List<TransactionRecordEntity> chunk) {
+        List<TransactionRecordEntity> fresh = duplicateFilter.retainNew(chunk);
+        if (fresh.isEmpty()) {
+            return 0;
+        }
+        for (TransactionRecordEntity record : fresh) {
+            entityManager.persist(record);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        eventPublisher.publishEvent(new TransactionsImportedEvent(fresh));
+        return fresh.size();
+    }
+}
@@ -0,0 +1,549 @@
+package com.maybank.assessment.batch;
+
+import com.maybank.assessment.entity.ImportCheckpointEntity;
+import com.maybank.assessment.entity.ImportedFileEntity;
+import com.maybank.assessment.entity.TransactionRecordEntity;
+import com.maybank.assessment.event.TransactionImportCompletedEvent;
+import com.maybank.assessment.repository.ImportCheckpointRepository;
+import com.maybank.assessment.repository.ImportedFileRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Imports an external file by memory-mapping it and cutting it into newline-aligned byte
+ * ranges. Files below {@code file.import.parallel-min-bytes} are a single range parsed on the
+ * calling thread; larger files are parsed by {@code file.import.workers} threads. Each range
+ * is a two-stage {@link ImportPipeline}: its worker reads and parses while a persist thread
+ * commits the previous chunks through {@link TransactionChunkWriter}, at most
+ * {@code file.import.queue-capacity} chunks behind.
+ *
+ * <p>Gzip files ({@code .gz}, or anything starting with the gzip magic bytes) cannot be split,
+ * so they are inflated as a stream into a single range on the calling thread, without a
+ * temporary file; their checkpoint offsets count decompressed bytes and progress counts
+ * compressed ones. The compressed file is what gets hashed and archived.
+ *
+ * <p>A line that fails to parse does not stop the import: it is written with its line number
+ * and reason to {@code processed/<name>.rejected} ({@link RejectedLineWriter}) and skipped.
+ *
+ * <p>Every range has an {@link ImportCheckpointEntity} whose committed offset moves with each
+ * chunk commit, so an import interrupted by a crash resumes at the last committed line instead
+ * of re-inserting the file. A file whose content was imported before is recognised by its
+ * SHA-256 and archived without being parsed; single lines seen before are dropped by
+ * {@link DuplicateLineFilter}. Identical lines within one file are separate transactions:
+ * before parsing, the file is scanned for them ({@link LineOccurrences}) so each copy gets
+ * its own dedupe key.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionFileImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionFileImporter.class);
+
+    /** A single mapping cannot exceed 2 GB, so large files are cut into more ranges than workers. */
+    static final long MAX_RANGE_BYTES = 256L * 1024 * 1024;
+
+    /** Inflater input and line buffer size for gzip files; large reads keep the inflater busy. */
+    private static final int GZIP_BUFFER_BYTES = 1024 * 1024;
+    private static final int GZIP_MAGIC = 0x1f8b;
+    /** Sizes the repeat scan's Bloom filter from the byte count; lines of the usual layout are longer. */
+    private static final int MIN_LINE_BYTES = 32;
+
+    private final TransactionChunkWriter chunkWriter;
+    private final ImportCheckpointRepository checkpointRepository;
+    private final ImportProgress progress;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ImportedFileRepository importedFileRepository;
+
+    @Value("${file.import.workers:0}")
+    private int workers;
+
+    @Value("${file.import.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${file.import.parallel-min-bytes:67108864}")
+    private long parallelMinBytes;
+
+    @Value("${file.import.queue-capacity:2}")
+    private int queueCapacity;
+
+    public int workerCount() {
+        return workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Imports {@code source}, moves it into a sibling {@code processed/} directory once the
+     * last chunk has committed, and only then drops its checkpoints.
+     */
+    public long importAndArchive(Path source) throws IOException {
+        String contentHash = contentHash(source);
+        Optional<ImportedFileEntity> previous = importedFileRepository.findByContentHash(contentHash);
+        if (previous.isPresent()) {
+            log.info("{} has the same content as {} imported at {}; skipping",
+                    source, previous.get().getFileName(), previous.get().getImportedAt());
+            archive(source);
+            return 0;
+        }
+
+        String fileKey = fileKey(source);
+        long imported = importFile(source, fileKey);
+        log.info("Imported {} records from {}", imported, source);
+        importedFileRepository.save(ImportedFileEntity.builder()
+                .contentHash(contentHash)
+                .fileName(source.getFileName().toString())
+                .rowsImported(imported)
+                .importedAt(Instant.now())
+                .build());
+
+        archive(source);
+        checkpointRepository.deleteByFileKey(fileKey);
+        return imported;
+    }
+
+    /** The sibling {@code processed/} directory that {@code source} is archived into. */
+    static Path processedDirectory(Path source) {
+        Path parentDir = source.toAbsolutePath().getParent();
+        if (parentDir == null) {
+            parentDir = Paths.get("").toAbsolutePath();
+        }
+        return parentDir.resolve("processed");
+    }
+
+    private static void archive(Path source) throws IOException {
+        Path processedDir = processedDirectory(source);
+        if (Files.notExists(processedDir)) {
+            Files.createDirectories(processedDir);
+        }
+        Path target = processedDir.resolve(source.getFileName());
+        Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        log.info("Moved {} → {}", source, target);
+    }
+
+    public long importFile(Path path) throws IOException {
+        return importFile(path, fileKey(path));
+    }
+
+    private long importFile(Path path, String fileKey) throws IOException {
+        if (isGzip(path)) {
+            return importCompressed(path, fileKey);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             RejectedLineWriter rejects = RejectedLineWriter.forSource(path)) {
+            List<ImportCheckpointEntity> checkpoints = checkpointRepository.findByFileKeyOrderByRangeStart(fileKey);
+            long resumed = 0;
+            if (checkpoints.isEmpty()) {
+                int parts = channel.size() >= parallelMinBytes ? workerCount() : 1;
+                checkpoints = checkpointRepository.saveAll(split(channel, parts).stream()
+                        .map(range -> ImportCheckpointEntity.builder()
+                                .fileKey(fileKey)
+                                .rangeStart(range[0])
+                                .rangeEnd(range[1])
+                                .committedOffset(range[0])
+                                .build())
+                        .toList());
+            } else {
+                resumed = checkpoints.stream().mapToLong(ImportCheckpointEntity::getRowsCommitted).sum();
+                log.info("Resuming import of {} from checkpoint; {} rows already committed", path, resumed);
+            }
+            ImportProgress.Tracker tracker = progress.begin(path.toString(),
+                    checkpoints.stream().mapToLong(c -> c.getRangeEnd() - c.getRangeStart()).sum());
+            tracker.resumed(resumed, checkpoints.stream().mapToLong(c -> c.getCommittedOffset() - c.getRangeStart()).sum());
+            List<ImportCheckpointEntity> pending = checkpoints.stream().filter(c -> !c.isComplete()).toList();
+            try {
+                LineOccurrences occurrences = pending.isEmpty() ? LineOccurrences.NONE : occurrences(channel, checkpoints);
+                long imported = resumed + importRanges(path, channel, pending, occurrences, rejects, tracker);
+                if (rejects.rejected() > 0) {
+                    log.warn("Rejected {} malformed lines of {}; see {}", rejects.rejected(), path, rejects.target());
+                }
+                tracker.complete();
+                eventPublisher.publishEvent(new TransactionImportCompletedEvent(path.toString(), imported));
+                return imported;
+            } catch (IOException | RuntimeException e) {
+                tracker.fail(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Streams a gzip file through an {@link ImportPipeline} as one range of decompressed
+     * offsets {@code [0, Long.MAX_VALUE)}, the end being unknown until the stream is read;
+     * the last commit marks the range complete. A resumed import inflates and skips the
+     * header and the lines before the committed offset, which keeps reject line numbers absolute.
+     */
+    private long importCompressed(Path path, String fileKey) throws IOException {
+        List<ImportCheckpointEntity> checkpoints = checkpointRepository.findByFileKeyOrderByRangeStart(fileKey);
+        ImportCheckpointEntity checkpoint = checkpoints.isEmpty()
+                ? checkpointRepository.save(ImportCheckpointEntity.builder()
+                        .fileKey(fileKey)
+                        .rangeStart(0)
+                        .rangeEnd(Long.MAX_VALUE)
+                        .committedOffset(0)
+                        .build())
+                : checkpoints.get(0);
+        long resumed = checkpoint.getRowsCommitted();
+        if (resumed > 0) {
+            log.info("Resuming import of {} from checkpoint; {} rows already committed", path, resumed);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             GZIPInputStream in = new GZIPInputStream(Channels.newInputStream(channel), GZIP_BUFFER_BYTES);
+             RejectedLineWriter rejects = RejectedLineWriter.forSource(path)) {
+            ImportProgress.Tracker tracker = progress.begin(path.toString(), channel.size());
+            try {
+                long imported = resumed;
+                if (!checkpoint.isComplete()) {
+                    LineOccurrences occurrences = LineOccurrences.scan(LineOccurrences.ofStream(
+                            () -> new GZIPInputStream(Files.newInputStream(path), GZIP_BUFFER_BYTES), GZIP_BUFFER_BYTES),
+                            channel.size() / MIN_LINE_BYTES * 4);
+                    imported += importStream(in, channel, checkpoint, occurrences, rejects, tracker);
+                }
+                if (rejects.rejected() > 0) {
+                    log.warn("Rejected {} malformed lines of {}; see {}", rejects.rejected(), path, rejects.target());
+                }
+                tracker.complete();
+                eventPublisher.publishEvent(new TransactionImportCompletedEvent(path.toString(), imported));
+                return imported;
+            } catch (IOException | RuntimeException e) {
+                tracker.fail(e);
+                throw e;
+            }
+        }
+    }
+
+    private long importStream(GZIPInputStream in, FileChannel compressed, ImportCheckpointEntity checkpoint,
+                              LineOccurrences occurrences, RejectedLineWriter rejects, ImportProgress.Tracker tracker)
+            throws IOException {
+        LineReader reader = new LineReader(in, GZIP_BUFFER_BYTES);
+        long committedOffset = checkpoint.getCommittedOffset();
+        reader.next();
+        boolean more = reader.next();
+        while (more && reader.offset() <= committedOffset) {
+            more = reader.next();
+        }
+        long committedPosition = compressed.position();
+        tracker.resumed(checkpoint.getRowsCommitted(), checkpoint.getRowsCommitted() > 0 ? committedPosition : 0);
+        TransactionLineParser parser = new TransactionLineParser();
+        List<TransactionRecordEntity> chunk = new ArrayList<>(chunkSize);
+        long parseStarted = System.nanoTime();
+        try (ImportPipeline pipeline = new ImportPipeline("import-persist-" + checkpoint.getId(), queueCapacity, tracker)) {
+            for (; more; more = reader.next()) {
+                if (reader.lineLength() > 0) {
+                    try {
+                        chunk.add(parser.parse(reader.buffer(), reader.lineStart(), reader.lineLength(), reader.lineNumber(),
+                                occurrences.at(reader.lineOffset())));
+                    } catch (MalformedLineException e) {
+                        rejects.reject(e, reader.buffer(), reader.lineStart(), reader.lineLength());
+                        tracker.rejected(1);
+                    }
+                }
+                if (chunk.size() >= chunkSize) {
+                    long position = compressed.position();
+                    submit(pipeline, chunk, checkpoint, committedOffset, reader.offset(),
+                            position - committedPosition, tracker, parseStarted);
+                    committedOffset = reader.offset();
+                    committedPosition = position;
+                    parseStarted = System.nanoTime();
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            submit(pipeline, chunk, checkpoint, committedOffset, checkpoint.getRangeEnd(),
+                    compressed.size() - committedPosition, tracker, parseStarted);
+            return pipeline.finish();
+        }
+    }
+
+    /** True for a {@code .gz} name or a file that starts with the gzip magic bytes. */
+    static boolean isGzip(Path path) throws IOException {
+        if (path.getFileName().toString().endsWith(".gz")) {
+            return true;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(2);
+            return channel.read(magic, 0) == 2 && Short.toUnsignedInt(magic.getShort(0)) == GZIP_MAGIC;
+        }
+    }
+
+    /**
+     * Scans every range of the file, committed parts included, so occurrence numbers are the
+     * same whichever part of the file is still to be imported.
+     */
+    private static LineOccurrences occurrences(FileChannel channel, List<ImportCheckpointEntity> checkpoints)
+            throws IOException {
+        long bytes = checkpoints.stream().mapToLong(c -> c.getRangeEnd() - c.getRangeStart()).sum();
+        return LineOccurrences.scan(consumer -> {
+            byte[] lineBytes = new byte[256];
+            for (ImportCheckpointEntity checkpoint : checkpoints) {
+                long start = checkpoint.getRangeStart();
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, checkpoint.getRangeEnd() - start);
+                int limit = buffer.limit();
+                int lineStart = 0;
+                while (lineStart < limit) {
+                    int lineEnd = lineStart;
+                    while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                        lineEnd++;
+                    }
+                    int length = lineEnd - lineStart;
+                    if (length > 0 && buffer.get(lineEnd - 1) == '\r') {
+                        length--;
+                    }
+                    if (length > 0) {
+                        if (length > lineBytes.length) {
+                            lineBytes = new byte[Math.max(length, lineBytes.length * 2)];
+                        }
+                        buffer.get(lineStart, lineBytes, 0, length);
+                        consumer.accept(start + lineStart, lineBytes, 0, length);
+                    }
+                    lineStart = lineEnd + 1;
+                }
+            }
+        }, bytes / MIN_LINE_BYTES);
+    }
+
+    private long importRanges(Path path, FileChannel channel, List<ImportCheckpointEntity> pending,
+                              LineOccurrences occurrences, RejectedLineWriter rejects, ImportProgress.Tracker tracker)
+            throws IOException {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        if (pending.size() == 1) {
+            try {
+                return importRange(channel, pending.get(0), occurrences, rejects, tracker);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        int threads = Math.min(workerCount(), pending.size());
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            ExecutorCompletionService<Long> completion = new ExecutorCompletionService<>(pool);
+            for (ImportCheckpointEntity checkpoint : pending) {
+                completion.submit(() -> importRange(channel, checkpoint, occurrences, rejects, tracker));
+            }
+            long imported = 0;
+            for (int i = 0; i < pending.size(); i++) {
+                imported += completion.take().get();
+            }
+            log.info("Parallel import of {} used {} workers over {} ranges", path, threads, pending.size());
+            return imported;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException("Parallel import of " + path + " failed", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Parallel import of " + path + " was interrupted", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** Hex SHA-256 of the file, read through mappings of at most {@link #MAX_RANGE_BYTES}. */
+    static String contentHash(Path path) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long from = 0; from < size; from += MAX_RANGE_BYTES) {
+                digest.update(channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(MAX_RANGE_BYTES, size - from)));
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    static String fileKey(Path path) throws IOException {
+        return path.toAbsolutePath().normalize() + "|" + Files.size(path) + "|" + Files.getLastModifiedTime(path).toMillis();
+    }
+
+    /**
+     * Splits the body (everything after the header line) into {@code [start, end)} ranges
+     * whose boundaries sit just after a {@code '\n'}, so no line straddles two ranges.
+     */
+    static List<long[]> split(FileChannel channel, int parts) throws IOException {
+        long size = channel.size();
+        long bodyStart = nextLineStart(channel, 0, size);
+        List<long[]> ranges = new ArrayList<>();
+        if (bodyStart >= size) {
+            return ranges;
+        }
+        long body = size - bodyStart;
+        long count = Math.max(parts, (body + MAX_RANGE_BYTES - 1) / MAX_RANGE_BYTES);
+        long target = Math.max(1, body / count);
+        long start = bodyStart;
+        while (start < size) {
+            long end = start + target >= size ? size : nextLineStart(channel, start + target, size);
+            ranges.add(new long[]{start, end});
+            start = end;
+        }
+        return ranges;
+    }
+
+    private static long nextLineStart(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long position = from;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /** 1-based number of the line starting at {@code offset}; only computed once a range rejects a line. */
+    private static long lineNumberAt(FileChannel channel, long offset) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        long newlines = 0;
+        long position = 0;
+        while (position < offset) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), offset - position));
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    newlines++;
+                }
+            }
+            position += read;
+        }
+        return newlines + 1;
+    }
+
+    /**
+     * Parses the uncommitted part of one range and queues a checkpointed commit for every
+     * chunk. A cancelled import stops between chunks, so the checkpoint always matches what
+     * was committed. Malformed lines are sent to {@code rejects}; the absolute line number is
+     * only worked out (by counting newlines up to the range) once the range has a bad line.
+     */
+    private long importRange(FileChannel channel, ImportCheckpointEntity checkpoint, LineOccurrences occurrences,
+                             RejectedLineWriter rejects, ImportProgress.Tracker tracker) {
+        long start = checkpoint.getCommittedOffset();
+        long end = checkpoint.getRangeEnd();
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        TransactionLineParser parser = new TransactionLineParser();
+        List<TransactionRecordEntity> chunk = new ArrayList<>(chunkSize);
+        byte[] lineBytes = new byte[256];
+        long firstLine = -1;
+        long linesInRange = 0;
+        long committedOffset = start;
+        long parseStarted = System.nanoTime();
+        int limit = buffer.limit();
+        int lineStart = 0;
+        try (ImportPipeline pipeline = new ImportPipeline("import-persist-" + checkpoint.getId(), queueCapacity, tracker)) {
+            while (lineStart < limit) {
+                int lineEnd = lineStart;
+                while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                int length = lineEnd - lineStart;
+                if (length > 0 && buffer.get(lineEnd - 1) == '\r') {
+                    length--;
+                }
+                if (length > 0) {
+                    if (length > lineBytes.length) {
+                        lineBytes = new byte[Math.max(length, lineBytes.length * 2)];
+                    }
+                    buffer.get(lineStart, lineBytes, 0, length);
+                    try {
+                        chunk.add(parser.parse(lineBytes, 0, length, -1, occurrences.at(start + lineStart)));
+                    } catch (MalformedLineException e) {
+                        if (firstLine < 0) {
+                            firstLine = lineNumberAt(channel, start);
+                        }
+                        rejects.reject(e.atLine(firstLine + linesInRange), lineBytes, 0, length);
+                        tracker.rejected(1);
+                    }
+                    if (chunk.size() >= chunkSize) {
+                        long offset = start + Math.min(lineEnd + 1, limit);
+                        submit(pipeline, chunk, checkpoint, committedOffset, offset, offset - committedOffset,
+                                tracker, parseStarted);
+                        committedOffset = offset;
+                        parseStarted = System.nanoTime();
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                }
+                lineStart = lineEnd + 1;
+                linesInRange++;
+            }
+            if (!chunk.isEmpty() || committedOffset < end) {
+                submit(pipeline, chunk, checkpoint, committedOffset, end, end - committedOffset, tracker, parseStarted);
+            }
+            return pipeline.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** {@code progressBytes} is what the chunk adds to the tracker: file bytes, which for gzip are compressed. */
+    private void submit(ImportPipeline pipeline, List<TransactionRecordEntity> chunk, ImportCheckpointEntity checkpoint,
+                        long fromOffset, long toOffset, long progressBytes, ImportProgress.Tracker tracker,
+                        long parseStarted) {
+        tracker.parsed(chunk.size(), System.nanoTime() - parseStarted);
+        pipeline.submit(() -> commit(chunk, checkpoint, fromOffset, toOffset, progressBytes, tracker));
+    }
+
+    private int commit(List<TransactionRecordEntity> chunk, ImportCheckpointEntity checkpoint, long fromOffset,
+                       long toOffset, long progressBytes, ImportProgress.Tracker tracker) {
+        if (tracker.isCancelled()) {
+            throw new CancellationException("Import cancelled at offset " + fromOffset);
+        }
+        long persistStarted = System.nanoTime();
+        int written = chunkWriter.write(chunk, checkpoint.getId(), toOffset);
+        tracker.committed(written, progressBytes, System.nanoTime() - persistStarted);
+        return written;
+    }
+}
@@ -0,0 +1,276 @@
+package com.maybank.assessment.batch;
+
+import com.maybank.assessment.entity.TransactionRecordEntity;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+
+/**
+ * Parses one {@code ACCOUNT_NUMBER|TRX_AMOUNT|DESCRIPTION|TRX_DATE|TRX_TIME|CUSTOMER_ID}
+ * line straight from bytes: no regex split, no intermediate substrings, the amount is
+ * accumulated as scaled long cents and the fixed-width date and time are decoded by hand.
+ * Account numbers and customer ids repeat heavily, so they are interned per parser.
+ *
+ * <p>Instances keep mutable state and are not thread-safe; use one per worker.
+ */
+public class TransactionLineParser {
+
+    public static final int COLUMN_COUNT = 6;
+
+    private static final String[] COLUMNS = {
+            "ACCOUNT_NUMBER", "TRX_AMOUNT", "DESCRIPTION", "TRX_DATE", "TRX_TIME", "CUSTOMER_ID"
+    };
+
+    private static final int AMOUNT_SCALE = 2;
+
+    private final StringPool accountNumbers = new StringPool();
+    private final StringPool customerIds = new StringPool();
+    private final int[] fieldStart = new int[COLUMN_COUNT];
+    private final int[] fieldEnd = new int[COLUMN_COUNT];
+
+    static String columnName(int column) {
+        return column >= 1 && column <= COLUMN_COUNT ? COLUMNS[column - 1] : "LINE";
+    }
+
+    /**
+     * Parses {@code length} bytes of {@code line} starting at {@code offset}. A trailing
+     * {@code '\r'} must already be stripped by the caller.
+     *
+     * @throws MalformedLineException with the given line number and the offending column
+     */
+    public TransactionRecordEntity parse(byte[] line, int offset, int length, long lineNumber) {
+        return parse(line, offset, length, lineNumber, 0);
+    }
+
+    /**
+     * Parses a line that is the {@code occurrence}-th repeat of an identical earlier line of
+     * the same file ({@link LineOccurrences}); the occurrence is part of its dedupe key.
+     */
+    public TransactionRecordEntity parse(byte[] line, int offset, int length, long lineNumber, int occurrence) {
+        int end = offset + length;
+        int field = 0;
+        int start = offset;
+        for (int i = offset; i < end; i++) {
+            if (line[i] == '|') {
+                if (field == COLUMN_COUNT - 1) {
+                    throw new MalformedLineException(lineNumber, 0,
+                            "expected " + COLUMN_COUNT + " columns but found more");
+                }
+                fieldStart[field] = start;
+                fieldEnd[field] = i;
+                field++;
+                start = i + 1;
+            }
+        }
+        if (field != COLUMN_COUNT - 1) {
+            throw new MalformedLineException(lineNumber, 0,
+                    "expected " + COLUMN_COUNT + " columns but found " + (field + 1));
+        }
+        fieldStart[field] = start;
+        fieldEnd[field] = end;
+
+        return TransactionRecordEntity.builder()
+                .accountNumber(required(accountNumbers, line, 1, lineNumber))
+                .trxAmount(BigDecimal.valueOf(parseCents(line, fieldStart[1], fieldEnd[1], lineNumber), AMOUNT_SCALE))
+                .description(new String(line, fieldStart[2], fieldEnd[2] - fieldStart[2], StandardCharsets.UTF_8))
+                .trxDate(parseDate(line, fieldStart[3], fieldEnd[3], lineNumber))
+                .trxTime(parseTime(line, fieldStart[4], fieldEnd[4], lineNumber))
+                .customerId(required(customerIds, line, 6, lineNumber))
+                .lineHash(lineKey(lineHash(line, offset, length), occurrence))
+                .build();
+    }
+
+    /**
+     * Dedupe key of the {@code occurrence}-th copy of a line within its file: the line hash
+     * itself for the first copy, so keys of lines without repeats are just their hash.
+     */
+    static long lineKey(long lineHash, int occurrence) {
+        return occurrence == 0 ? lineHash : mix(lineHash + occurrence * 0x9e3779b97f4a7c15L);
+    }
+
+    /** FNV-1a over the line bytes followed by the MurmurHash3 finalizer, so every bit is mixed. */
+    static long lineHash(byte[] line, int offset, int length) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = offset; i < offset + length; i++) {
+            h = (h ^ (line[i] & 0xff)) * 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    private String required(StringPool pool, byte[] line, int column, long lineNumber) {
+        int from = fieldStart[column - 1];
+        int to = fieldEnd[column - 1];
+        if (from == to) {
+            throw new MalformedLineException(lineNumber, column, "value is empty");
+        }
+        return pool.intern(line, from, to - from);
+    }
+
+    static long parseCents(byte[] b, int from, int to, long lineNumber) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (b[i] == '-' || b[i] == '+')) {
+            negative = b[i] == '-';
+            i++;
+        }
+        long units = 0;
+        int digits = 0;
+        for (; i < to && b[i] != '.'; i++) {
+            int d = b[i] - '0';
+            if (d < 0 || d > 9) {
+                throw invalid(lineNumber, 2, "amount", b, from, to);
+            }
+            if (units > (Long.MAX_VALUE / 100 - d) / 10) {
+                throw new MalformedLineException(lineNumber, 2, "amount out of range");
+            }
+            units = units * 10 + d;
+            digits++;
+        }
+        long fraction = 0;
+        int fractionDigits = 0;
+        if (i < to) {
+            for (i++; i < to; i++) {
+                int d = b[i] - '0';
+                if (d < 0 || d > 9 || ++fractionDigits > AMOUNT_SCALE) {
+                    throw invalid(lineNumber, 2, "amount", b, from, to);
+                }
+                fraction = fraction * 10 + d;
+            }
+        }
+        if (digits == 0 && fractionDigits == 0) {
+            throw invalid(lineNumber, 2, "amount", b, from, to);
+        }
+        if (fractionDigits == 1) {
+            fraction *= 10;
+        }
+        long cents = units * 100 + fraction;
+        return negative ? -cents : cents;
+    }
+
+    static LocalDate parseDate(byte[] b, int from, int to, long lineNumber) {
+        if (to - from != 10 || b[from + 4] != '-' || b[from + 7] != '-') {
+            throw invalid(lineNumber, 4, "date (expected yyyy-MM-dd)", b, from, to);
+        }
+        int year = digits(b, from, 4);
+        int month = digits(b, from + 5, 2);
+        int day = digits(b, from + 8, 2);
+        if ((year | month | day) < 0) {
+            throw invalid(lineNumber, 4, "date (expected yyyy-MM-dd)", b, from, to);
+        }
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            throw invalid(lineNumber, 4, "date (" + e.getMessage() + ")", b, from, to);
+        }
+    }
+
+    static LocalTime parseTime(byte[] b, int from, int to, long lineNumber) {
+        if (to - from != 8 || b[from + 2] != ':' || b[from + 5] != ':') {
+            throw invalid(lineNumber, 5, "time (expected HH:mm:ss)", b, from, to);
+        }
+        int hour = digits(b, from, 2);
+        int minute = digits(b, from + 3, 2);
+        int second = digits(b, from + 6, 2);
+        if ((hour | minute | second) < 0) {
+            throw invalid(lineNumber, 5, "time (expected HH:mm:ss)", b, from, to);
+        }
+        try {
+            return LocalTime.of(hour, minute, second);
+        } catch (DateTimeException e) {
+            throw invalid(lineNumber, 5, "time (" + e.getMessage() + ")", b, from, to);
+        }
+    }
+
+    /** Decodes {@code count} ASCII digits, or returns -1 if any byte is not a digit. */
+    private static int digits(byte[] b, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int d = b[i] - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    private static MalformedLineException invalid(long lineNumber, int column, String what, byte[] b, int from, int to) {
+        return new MalformedLineException(lineNumber, column,
+                "invalid " + what + " '" + new String(b, from, to - from, StandardCharsets.UTF_8) + "'");
+    }
+
+    /**
+     * Open-addressing intern table keyed by raw bytes, so a repeated value is found
+     * without first materialising a String. Stops growing at {@link #MAX_ENTRIES}
+     * and then hands out fresh strings, which bounds memory for high-cardinality files.
+     */
+    static final class StringPool {
+
+        private static final int MAX_ENTRIES = 1 << 16;
+
+        private byte[][] keys = new byte[256][];
+        private String[] values = new String[256];
+        private int size;
+
+        String intern(byte[] b, int from, int length) {
+            int hash = hash(b, from, length);
+            int mask = keys.length - 1;
+            int slot = hash & mask;
+            byte[] key;
+            while ((key = keys[slot]) != null) {
+                if (Arrays.equals(key, 0, key.length, b, from, from + length)) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            String value = new String(b, from, length, StandardCharsets.UTF_8);
+            if (size >= MAX_ENTRIES) {
+                return value;
+            }
+            keys[slot] = Arrays.copyOfRange(b, from, from + length);
+            values[slot] = value;
+            if (++size * 2 > keys.length) {
+                grow();
+            }
+            return value;
+        }
+
+        private void grow() {
+            byte[][] oldKeys = keys;
+            String[] oldValues = values;
+            keys = new byte[oldKeys.length * 2][];
+            values = new String[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    int slot = hash(oldKeys[i], 0, oldKeys[i].length) & mask;
+                    while (keys[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private static int hash(byte[] b, int from, int length) {
+            int h = 1;
+            for (int i = from; i < from + length; i++) {
+                h = 31 * h + b[i];
+            }
+            return h ^ (h >>> 16);
+        }
+    }
+}
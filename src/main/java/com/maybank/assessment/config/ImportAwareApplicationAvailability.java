@@ -0,0 +1,38 @@
+package com.maybank.assessment.config;
+
+import com.maybank.assessment.batch.ImportProgress;
+import org.springframework.boot.availability.ApplicationAvailabilityBean;
+import org.springframework.boot.availability.AvailabilityState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.stereotype.Component;
+
+/**
+ * Replaces Boot's availability bean so readiness stays {@code REFUSING_TRAFFIC} while the
+ * background startup import is pending, even after Boot publishes {@code ACCEPTING_TRAFFIC}
+ * on application ready. Liveness is unaffected.
+ */
+@Component
+public class ImportAwareApplicationAvailability extends ApplicationAvailabilityBean {
+
+    private final ImportProgress importProgress;
+
+    public ImportAwareApplicationAvailability(ImportProgress importProgress) {
+        this.importProgress = importProgress;
+    }
+
+    @Override
+    public <S extends AvailabilityState> S getState(Class<S> stateType, S defaultState) {
+        S state = super.getState(stateType, defaultState);
+        return stateType == ReadinessState.class ? gate(stateType, state) : state;
+    }
+
+    @Override
+    public <S extends AvailabilityState> S getState(Class<S> stateType) {
+        S state = super.getState(stateType);
+        return stateType == ReadinessState.class && state != null ? gate(stateType, state) : state;
+    }
+
+    private <S extends AvailabilityState> S gate(Class<S> stateType, S state) {
+        return importProgress.isStartupImportPending() ? stateType.cast(ReadinessState.REFUSING_TRAFFIC) : state;
+    }
+}
@@ -0,0 +1,32 @@
+package com.maybank.assessment.controller;
+
+import com.maybank.assessment.batch.ImportProgress;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/import")
+public class ImportProgressController {
+
+    private final ImportProgress importProgress;
+    private final ApplicationAvailability availability;
+
+    public ImportProgressController(ImportProgress importProgress, ApplicationAvailability availability) {
+        this.importProgress = importProgress;
+        this.availability = availability;
+    }
+
+    /** Readiness plus rows parsed/committed and ETA for running imports and the last finished one. */
+    @GetMapping("/progress")
+    public Map<String, Object> progress() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("readiness", availability.getReadinessState());
+        response.put("imports", importProgress.snapshot());
+        return response;
+    }
+}
@@ -0,0 +1,33 @@
+package com.maybank.assessment.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.maybank.assessment.service.CachingTransactionRecordService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cache/search")
+public class SearchCacheController {
+
+    private final CachingTransactionRecordService cachingService;
+
+    public SearchCacheController(CachingTransactionRecordService cachingService) {
+        this.cachingService = cachingService;
+    }
+
+    @GetMapping
+    public Map<String, Object> stats() {
+        CacheStats stats = cachingService.stats();
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("size", cachingService.size());
+        response.put("hitCount", stats.hitCount());
+        response.put("missCount", stats.missCount());
+        response.put("hitRate", stats.hitRate());
+        response.put("evictionCount", stats.evictionCount());
+        return response;
+    }
+}
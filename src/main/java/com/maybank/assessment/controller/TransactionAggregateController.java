@@ -0,0 +1,37 @@
+package com.maybank.assessment.controller;
+
+import com.maybank.assessment.aggregate.TransactionRollupStore;
+import com.maybank.assessment.dto.TransactionAggregateDTO;
+import com.maybank.assessment.exception.ResourceNotFoundException;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/aggregates")
+public class TransactionAggregateController {
+
+    private final TransactionRollupStore rollupStore;
+
+    public TransactionAggregateController(TransactionRollupStore rollupStore) {
+        this.rollupStore = rollupStore;
+    }
+
+    @GetMapping("/accounts/{accountNumber}")
+    public TransactionAggregateDTO byAccount(@PathVariable String accountNumber) {
+        return rollupStore.forAccount(accountNumber)
+                .orElseThrow(() -> new ResourceNotFoundException("No transactions for account " + accountNumber));
+    }
+
+    @GetMapping("/customers/{customerId}")
+    public TransactionAggregateDTO byCustomer(@PathVariable String customerId) {
+        return rollupStore.forCustomer(customerId)
+                .orElseThrow(() -> new ResourceNotFoundException("No transactions for customer " + customerId));
+    }
+
+    /** Recovery command: recomputes every rollup from transaction_records. */
+    @PostMapping("/rebuild")
+    public Map<String, Object> rebuild() {
+        return Map.of("keys", rollupStore.rebuild());
+    }
+}
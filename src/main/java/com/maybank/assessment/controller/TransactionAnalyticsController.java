@@ -0,0 +1,51 @@
+package com.maybank.assessment.controller;
+
+import com.maybank.assessment.analytics.ColumnarTransactionStore;
+import com.maybank.assessment.dto.DailyTotalDTO;
+import com.maybank.assessment.dto.TransactionSearchCriteria;
+import com.maybank.assessment.dto.TransactionSummaryDTO;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/** Scans over the columnar snapshot; takes the same filters as {@code GET /api/transactions}. */
+@RestController
+@RequestMapping("/api/analytics")
+@ConditionalOnProperty(name = "analytics.columnar.enabled", havingValue = "true")
+public class TransactionAnalyticsController {
+
+    private final ColumnarTransactionStore store;
+
+    public TransactionAnalyticsController(ColumnarTransactionStore store) {
+        this.store = store;
+    }
+
+    @GetMapping("/summary")
+    public TransactionSummaryDTO summary(
+            @RequestParam(required = false) String accountNumber,
+            @RequestParam(required = false) String customerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate trxDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) String description
+    ) {
+        return store.summarize(
+                TransactionSearchCriteria.of(accountNumber, customerId, trxDate, fromDate, toDate, description));
+    }
+
+    @GetMapping("/daily")
+    public List<DailyTotalDTO> daily(
+            @RequestParam(required = false) String accountNumber,
+            @RequestParam(required = false) String customerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate trxDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) String description
+    ) {
+        return store.dailyTotals(
+                TransactionSearchCriteria.of(accountNumber, customerId, trxDate, fromDate, toDate, description));
+    }
+}
@@ -1,47 +1,182 @@
 package com.maybank.assessment.controller;
 
+import com.maybank.assessment.dto.BulkDescriptionUpdateRequest;
+import com.maybank.assessment.dto.BulkUpdateResultDTO;
+import com.maybank.assessment.dto.CursorPage;
+import com.maybank.assessment.dto.ExportFormat;
+import com.maybank.assessment.dto.SearchTotalDTO;
 import com.maybank.assessment.dto.TransactionRecordDTO;
+import com.maybank.assessment.dto.TransactionSearchCriteria;
 import com.maybank.assessment.dto.UpdateDescriptionRequest;
+import com.maybank.assessment.repository.QueryDeadline;
+import com.maybank.assessment.service.TransactionExportService;
 import com.maybank.assessment.service.TransactionRecordService;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/transactions")
 public class TransactionRecordController {
 
+    /** Client timeout in milliseconds; the search is cancelled once it has passed. */
+    static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout";
+
     private final TransactionRecordService service;
+    private final TransactionExportService exportService;
+
+    @Value("${search.timeout-millis:0}")
+    private long defaultTimeoutMillis;
 
-    public TransactionRecordController(TransactionRecordService service) {
+    public TransactionRecordController(TransactionRecordService service, TransactionExportService exportService) {
         this.service = service;
+        this.exportService = exportService;
     }
 
+    /**
+     * Pages never run a {@code COUNT(*)}; {@code hasNext} says whether another page follows.
+     * With {@code includeTotal=true} the response also carries {@code total}, read from the
+     * in-memory rollups, and {@code totalExact}, which is {@code false} when it is an estimate.
+     */
     @GetMapping
     public Map<String, Object> search(
             @RequestParam(required = false) String accountNumber,
-            @RequestParam(required = false) String trxDate,
+            @RequestParam(required = false) String customerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate trxDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
             @RequestParam(required = false) String description,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestHeader(value = REQUEST_TIMEOUT_HEADER, required = false) Long timeoutMillis
     ) {
-        Page<TransactionRecordDTO> resultPage =
-                service.search(accountNumber, trxDate, description, PageRequest.of(page, size));
+        TransactionSearchCriteria criteria =
+                TransactionSearchCriteria.of(accountNumber, customerId, trxDate, fromDate, toDate, description);
+        Duration timeout = timeout(timeoutMillis);
 
         Map<String, Object> response = new HashMap<>();
-        response.put("content", resultPage.getContent());
+        if (after != null) {
+            CursorPage<TransactionRecordDTO> cursorPage =
+                    QueryDeadline.within(timeout, () -> service.searchAfter(criteria, after, size));
+            response.put("content", cursorPage.getContent());
+            response.put("nextCursor", cursorPage.getNextCursor());
+        } else {
+            Slice<TransactionRecordDTO> resultPage =
+                    QueryDeadline.within(timeout, () -> service.search(criteria, PageRequest.of(page, size)));
+            response.put("content", resultPage.getContent());
+            response.put("hasNext", resultPage.hasNext());
+        }
+        if (includeTotal) {
+            SearchTotalDTO total = service.countTotal(criteria);
+            response.put("total", total.getCount());
+            response.put("totalExact", total.isExact());
+        }
         return response;
     }
 
+    /**
+     * Streams every row matching the search filters as NDJSON or pipe-delimited
+     * {@code dataSource.txt} layout; the response is written while the query is still running.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) String accountNumber,
+            @RequestParam(required = false) String customerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate trxDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) String description,
+            @RequestParam(defaultValue = "ndjson") String format
+    ) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        TransactionSearchCriteria criteria =
+                TransactionSearchCriteria.of(accountNumber, customerId, trxDate, fromDate, toDate, description);
+        StreamingResponseBody body = out -> exportService.export(criteria, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    /** Single record with its version as a strong ETag; {@code If-None-Match} yields 304. */
+    @GetMapping("/{id}")
+    public ResponseEntity<TransactionRecordDTO> get(@PathVariable Long id, WebRequest webRequest) {
+        TransactionRecordDTO record = service.findById(id);
+        String etag = etag(record);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(record);
+    }
+
+    /**
+     * With {@code If-Match} the update is a single version-checked UPDATE and a stale ETag
+     * is answered with 412; without it the record is read, updated and version-checked on flush.
+     */
     @PutMapping("/{id}")
-    public TransactionRecordDTO update(
+    public ResponseEntity<TransactionRecordDTO> update(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateDescriptionRequest request
     ) {
-        return service.updateDescription(id, request);
+        TransactionRecordDTO updated = ifMatch == null || ifMatch.trim().equals("*")
+                ? service.updateDescription(id, request)
+                : service.updateDescription(id, request, parseVersion(ifMatch));
+        return ResponseEntity.ok().eTag(etag(updated)).body(updated);
+    }
+
+    /**
+     * Relabels many rows in one call; each entry carries the version it was read at and gets
+     * its own OK / CONFLICT / NOT_FOUND result instead of failing the whole request.
+     */
+    @PutMapping("/descriptions")
+    public List<BulkUpdateResultDTO> bulkUpdate(@Valid @RequestBody BulkDescriptionUpdateRequest request) {
+        return service.updateDescriptions(request.getUpdates());
+    }
+
+    /** The client's {@code X-Request-Timeout}, capped by {@code search.timeout-millis}; zero means none. */
+    private Duration timeout(Long requested) {
+        if (requested != null && requested <= 0) {
+            throw new IllegalArgumentException(REQUEST_TIMEOUT_HEADER + " must be a positive number of milliseconds");
+        }
+        long millis = requested == null ? defaultTimeoutMillis
+                : defaultTimeoutMillis > 0 ? Math.min(requested, defaultTimeoutMillis) : requested;
+        return Duration.ofMillis(millis);
+    }
+
+    private static String etag(TransactionRecordDTO record) {
+        return "\"" + record.getVersion() + "\"";
+    }
+
+    /** Accepts {@code "3"} or {@code W/"3"}; only a single entity tag is meaningful for one row. */
+    private static int parseVersion(String ifMatch) {
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Integer.parseInt(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // fall through
+            }
+        }
+        throw new IllegalArgumentException("Invalid If-Match header: " + ifMatch);
     }
-}
\ No newline at end of file
+}
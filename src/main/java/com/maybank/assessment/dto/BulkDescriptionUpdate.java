@@ -0,0 +1,25 @@
+package com.maybank.assessment.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One entry of a bulk description update; applied only if the row is still at {@code expectedVersion}. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDescriptionUpdate {
+
+    @NotNull(message = "id is required")
+    private Long id;
+
+    @NotNull(message = "expectedVersion is required")
+    private Integer expectedVersion;
+
+    @NotBlank(message = "Description must not be blank")
+    private String description;
+}
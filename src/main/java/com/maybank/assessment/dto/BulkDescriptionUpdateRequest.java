@@ -0,0 +1,16 @@
+package com.maybank.assessment.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkDescriptionUpdateRequest {
+
+    @NotEmpty(message = "updates must not be empty")
+    @Size(max = 10000, message = "At most 10000 updates per request")
+    private List<@Valid BulkDescriptionUpdate> updates;
+}
@@ -0,0 +1,20 @@
+package com.maybank.assessment.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Outcome of one bulk update entry. {@code version} is the row's version after the call:
+ * the new one when {@link Outcome#OK}, the current one on {@link Outcome#CONFLICT}.
+ */
+@Data
+@Builder
+public class BulkUpdateResultDTO {
+
+    public enum Outcome { OK, CONFLICT, NOT_FOUND }
+
+    private Long id;
+    private Outcome outcome;
+    private Integer version;
+    private String message;
+}
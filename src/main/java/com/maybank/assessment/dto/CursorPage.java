@@ -0,0 +1,18 @@
+package com.maybank.assessment.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated result. {@code nextCursor} is the opaque {@code after}
+ * token for the following page and is {@code null} once the last page has been reached.
+ */
+@Data
+@Builder
+public class CursorPage<T> {
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+}
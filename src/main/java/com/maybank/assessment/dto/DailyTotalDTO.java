@@ -0,0 +1,15 @@
+package com.maybank.assessment.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+public class DailyTotalDTO {
+    private LocalDate trxDate;
+    private long transactionCount;
+    private BigDecimal totalAmount;
+}
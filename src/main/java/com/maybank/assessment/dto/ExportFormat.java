@@ -0,0 +1,37 @@
+package com.maybank.assessment.dto;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+public enum ExportFormat {
+    /** One JSON object per line. */
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    /** Pipe-delimited, same header and column order as {@code dataSource.txt}. */
+    CSV(MediaType.parseMediaType("text/csv"), "txt");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /** @throws IllegalArgumentException for anything other than {@code ndjson} or {@code csv} */
+    public static ExportFormat from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + value);
+        }
+    }
+}
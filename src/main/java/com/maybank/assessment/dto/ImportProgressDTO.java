@@ -0,0 +1,23 @@
+package com.maybank.assessment.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class ImportProgressDTO {
+    private String source;
+    private String state;
+    private long rowsParsed;
+    private long rowsCommitted;
+    private long rowsRejected;
+    private long bytesCommitted;
+    private Long totalBytes;
+    private Double percent;
+    private Instant startedAt;
+    private double elapsedSeconds;
+    private Long etaSeconds;
+    private String error;
+}
@@ -0,0 +1,12 @@
+package com.maybank.assessment.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/** Number of rows matching a search; {@code exact} is {@code false} when it is an estimate. */
+@Data
+@Builder
+public class SearchTotalDTO {
+    private long count;
+    private boolean exact;
+}
@@ -0,0 +1,17 @@
+package com.maybank.assessment.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+public class TransactionAggregateDTO {
+    private String key;
+    private BigDecimal totalAmount;
+    private long transactionCount;
+    private LocalDate firstTrxDate;
+    private LocalDate lastTrxDate;
+}
@@ -0,0 +1,37 @@
+package com.maybank.assessment.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset page in {@code (trxDate, trxTime, id)} order,
+ * carried between requests as an opaque URL-safe token.
+ */
+public record TransactionCursor(LocalDate trxDate, LocalTime trxTime, Long id) {
+
+    public static TransactionCursor of(TransactionRecordDTO last) {
+        return new TransactionCursor(last.getTrxDate(), last.getTrxTime(), last.getId());
+    }
+
+    public String encode() {
+        String raw = trxDate + "|" + trxTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** @throws IllegalArgumentException if the token was not produced by {@link #encode()} */
+    public static TransactionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            return new TransactionCursor(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
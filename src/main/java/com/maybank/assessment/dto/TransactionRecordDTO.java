@@ -1,5 +1,6 @@
 package com.maybank.assessment.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
@@ -9,6 +10,7 @@ import java.time.LocalTime;
 
 @Data
 @Builder
+@AllArgsConstructor
 public class TransactionRecordDTO {
     private Long id;
     private String accountNumber;
@@ -17,4 +19,6 @@ public class TransactionRecordDTO {
     private LocalDate trxDate;
     private LocalTime trxTime;
     private String customerId;
+    /** Optimistic-lock version, also sent as the {@code ETag}. */
+    private Integer version;
 }
\ No newline at end of file
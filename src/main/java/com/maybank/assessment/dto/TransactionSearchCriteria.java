@@ -0,0 +1,34 @@
+package com.maybank.assessment.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Filters accepted by the transaction search; {@code null} fields are not applied.
+ * {@code fromDate} and {@code toDate} are inclusive bounds on {@code trxDate}.
+ */
+@Data
+@Builder
+public class TransactionSearchCriteria {
+    private String accountNumber;
+    private String customerId;
+    private String description;
+    private LocalDate trxDate;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+
+    /** The criteria for the search filters shared by the query, export and analytics endpoints. */
+    public static TransactionSearchCriteria of(String accountNumber, String customerId, LocalDate trxDate,
+                                               LocalDate fromDate, LocalDate toDate, String description) {
+        return TransactionSearchCriteria.builder()
+                .accountNumber(accountNumber)
+                .customerId(customerId)
+                .trxDate(trxDate)
+                .fromDate(fromDate)
+                .toDate(toDate)
+                .description(description)
+                .build();
+    }
+}
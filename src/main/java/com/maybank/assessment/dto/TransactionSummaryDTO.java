@@ -0,0 +1,18 @@
+package com.maybank.assessment.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class TransactionSummaryDTO {
+    private long transactionCount;
+    private BigDecimal totalAmount;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    private LocalDateTime firstTransactionAt;
+    private LocalDateTime lastTransactionAt;
+}
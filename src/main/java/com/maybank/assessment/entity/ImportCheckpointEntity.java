@@ -0,0 +1,40 @@
+package com.maybank.assessment.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of one byte range of an import file. {@code committedOffset} is advanced in the
+ * same transaction as the rows it covers, so after a crash the range resumes exactly there.
+ */
+@Entity
+@Table(name = "import_checkpoints", indexes = @Index(name = "idx_import_checkpoints_file", columnList = "fileKey"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportCheckpointEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Absolute path, size and modification time, so a new file under the same name starts fresh. */
+    private String fileKey;
+
+    private long rangeStart;
+    private long rangeEnd;
+    private long committedOffset;
+    private long rowsCommitted;
+
+    public boolean isComplete() {
+        return committedOffset >= rangeEnd;
+    }
+}
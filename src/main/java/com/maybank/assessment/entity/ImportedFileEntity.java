@@ -0,0 +1,38 @@
+package com.maybank.assessment.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Content fingerprint of a fully imported file, recorded after its last chunk commits; a
+ * file with the same SHA-256 is skipped without being parsed, whatever its name.
+ */
+@Entity
+@Table(name = "imported_files")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportedFileEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Hex SHA-256 of the whole file. */
+    @Column(nullable = false, unique = true, length = 64)
+    private String contentHash;
+
+    private String fileName;
+    private long rowsImported;
+    private Instant importedAt;
+}
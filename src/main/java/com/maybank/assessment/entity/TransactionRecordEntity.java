@@ -3,8 +3,10 @@ package com.maybank.assessment.entity;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,14 +18,28 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "transaction_records")
+@Table(name = "transaction_records", indexes = {
+        @Index(name = "idx_trx_keyset", columnList = "trx_date, trx_time, id"),
+        @Index(name = "idx_trx_account_date", columnList = "account_number, trx_date, trx_time"),
+        @Index(name = "idx_trx_customer_date", columnList = "customer_id, trx_date"),
+        @Index(name = "uk_trx_line_hash", columnList = "line_hash", unique = true)
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class TransactionRecordEntity {
+
+    /** Ids reserved per sequence call; see {@link #id}. */
+    public static final int ID_ALLOCATION_SIZE = 500;
+
+    /**
+     * Pooled sequence instead of IDENTITY so Hibernate can assign ids up front and
+     * send inserts as JDBC batches; keep allocationSize in step with hibernate.jdbc.batch_size.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_records_seq")
+    @SequenceGenerator(name = "transaction_records_seq", sequenceName = "transaction_records_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     private String accountNumber;
@@ -35,6 +51,17 @@ public class TransactionRecordEntity {
 
     private String customerId;
 
+    /**
+     * 64-bit hash of the source line; the unique index rejects a line imported twice.
+     * {@code null} for rows that did not come from a file.
+     */
+    private Long lineHash;
+
     @Version
     private int version;
-}
\ No newline at end of file
+
+    /** {@code date} as {@code yyyyMM}, the month key of retention purges; {@code null} without a date. */
+    public static Integer monthOf(LocalDate date) {
+        return date == null ? null : date.getYear() * 100 + date.getMonthValue();
+    }
+}
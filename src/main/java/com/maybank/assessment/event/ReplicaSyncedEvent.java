@@ -0,0 +1,10 @@
+package com.maybank.assessment.event;
+
+/**
+ * Published once the read replica has applied a committed change. {@code change} is the
+ * {@link TransactionsImportedEvent}, {@link TransactionDescriptionChangedEvent} or
+ * {@link TransactionsPurgedEvent} it applied, so state derived from replica reads can be
+ * refreshed for the same rows.
+ */
+public record ReplicaSyncedEvent(Object change) {
+}
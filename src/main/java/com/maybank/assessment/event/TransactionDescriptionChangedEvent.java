@@ -0,0 +1,14 @@
+package com.maybank.assessment.event;
+
+/**
+ * Published when a transaction's description is updated. {@code previousDescription} is
+ * {@code null} when the writer did not read the row before updating it.
+ */
+public record TransactionDescriptionChangedEvent(
+        Long id,
+        String accountNumber,
+        String customerId,
+        String previousDescription,
+        String description
+) {
+}
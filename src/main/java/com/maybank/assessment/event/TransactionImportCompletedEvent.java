@@ -0,0 +1,8 @@
+package com.maybank.assessment.event;
+
+/**
+ * Published once an import has committed its last chunk. {@code rows} counts every row of
+ * the file, including rows committed by an earlier, interrupted run.
+ */
+public record TransactionImportCompletedEvent(String source, long rows) {
+}
@@ -0,0 +1,13 @@
+package com.maybank.assessment.event;
+
+import com.maybank.assessment.entity.TransactionRecordEntity;
+
+import java.util.List;
+
+/**
+ * Published once per committed import chunk. The records are detached and already carry
+ * their generated ids; listeners that keep derived state should use
+ * {@code @TransactionalEventListener} so they only see committed rows.
+ */
+public record TransactionsImportedEvent(List<TransactionRecordEntity> records) {
+}
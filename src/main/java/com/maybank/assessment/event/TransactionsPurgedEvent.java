@@ -0,0 +1,8 @@
+package com.maybank.assessment.event;
+
+/**
+ * Published after the retention job has removed every row of one month partition;
+ * {@code month} is the {@code yyyyMM} partition key and {@code rows} the rows removed.
+ */
+public record TransactionsPurgedEvent(int month, long rows) {
+}
@@ -0,0 +1,265 @@
+package com.maybank.assessment.index;
+
+import com.maybank.assessment.entity.TransactionRecordEntity;
+import com.maybank.assessment.event.TransactionDescriptionChangedEvent;
+import com.maybank.assessment.event.TransactionsImportedEvent;
+import com.maybank.assessment.event.TransactionsPurgedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index from lower-cased description trigrams to sorted primitive id
+ * posting lists. A substring query is narrowed to the intersection of its trigrams' lists,
+ * which the caller then verifies with the usual {@code LIKE}; the index may therefore
+ * over-report (stale postings are harmless) but must never under-report.
+ *
+ * <p>Existing rows are loaded once the context has started, before the startup import runs;
+ * after that the index follows import chunks, description updates and retention purges
+ * through events. Ids are also kept per {@code yyyyMM} month, so a purged month's ids can be
+ * taken out of every posting list instead of piling up as stale candidates.
+ */
+@Component
+public class DescriptionTrigramIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(DescriptionTrigramIndex.class);
+
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final Map<Integer, PostingList> monthIds = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${search.description-index.max-candidates:1000}")
+    private int maxCandidates;
+
+    @EventListener(ApplicationStartedEvent.class)
+    @Transactional(readOnly = true)
+    public void loadExisting() {
+        long[] rows = {0};
+        try (Stream<Object[]> existing = entityManager
+                .createQuery("select t.id, t.description, t.trxDate from TransactionRecordEntity t", Object[].class)
+                .setHint("org.hibernate.fetchSize", 1000)
+                .getResultStream()) {
+            existing.forEach(row -> {
+                add((Long) row[0], (String) row[1], (LocalDate) row[2]);
+                rows[0]++;
+            });
+        }
+        ready = true;
+        log.info("Description trigram index loaded {} existing rows", rows[0]);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onImported(TransactionsImportedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (TransactionRecordEntity record : event.records()) {
+                addLocked(record.getId(), record.getDescription(), record.getTrxDate());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDescriptionChanged(TransactionDescriptionChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.previousDescription() != null) {
+                for (long trigram : trigrams(event.previousDescription())) {
+                    PostingList list = postings.get(trigram);
+                    if (list != null) {
+                        list.remove(event.id());
+                    }
+                }
+            }
+            addLocked(event.id(), event.description(), null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Takes the purged month's ids out of every posting list and drops lists left empty. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPurged(TransactionsPurgedEvent event) {
+        lock.writeLock().lock();
+        try {
+            PostingList purged = monthIds.remove(event.month());
+            if (purged == null) {
+                return;
+            }
+            for (Iterator<PostingList> it = postings.values().iterator(); it.hasNext(); ) {
+                PostingList list = it.next();
+                list.removeAll(purged);
+                if (list.size == 0) {
+                    it.remove();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void add(Long id, String description, LocalDate trxDate) {
+        lock.writeLock().lock();
+        try {
+            addLocked(id, description, trxDate);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the sorted ids whose description may contain {@code term}, or {@code null} when
+     * the index cannot narrow the search: the term is shorter than a trigram, the index is
+     * still loading, or more than {@code search.description-index.max-candidates} ids match.
+     */
+    public long[] candidates(String term) {
+        if (!ready || term == null) {
+            return null;
+        }
+        long[] keys = trigrams(term);
+        if (keys.length == 0) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            PostingList[] lists = new PostingList[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                lists[i] = postings.get(keys[i]);
+                if (lists[i] == null) {
+                    return new long[0];
+                }
+            }
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+            long[] result = Arrays.copyOf(lists[0].ids, lists[0].size);
+            int size = result.length;
+            for (int i = 1; i < lists.length && size > 0; i++) {
+                size = lists[i].retain(result, size);
+            }
+            return size > maxCandidates ? null : Arrays.copyOf(result, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** A {@code null} date leaves the id's month as it is, as for a description change. */
+    private void addLocked(Long id, String description, LocalDate trxDate) {
+        if (id == null) {
+            return;
+        }
+        for (long trigram : trigrams(description)) {
+            postings.computeIfAbsent(trigram, k -> new PostingList()).add(id);
+        }
+        Integer month = TransactionRecordEntity.monthOf(trxDate);
+        if (month != null) {
+            monthIds.computeIfAbsent(month, k -> new PostingList()).add(id);
+        }
+    }
+
+    /** Distinct trigrams of the lower-cased text, each packed as three 16-bit chars. */
+    static long[] trigrams(String text) {
+        if (text == null || text.length() < 3) {
+            return new long[0];
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        long[] keys = new long[lower.length() - 2];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ((long) lower.charAt(i) << 32) | ((long) lower.charAt(i + 1) << 16) | lower.charAt(i + 2);
+        }
+        return Arrays.stream(keys).distinct().toArray();
+    }
+
+    /** Growable sorted array of distinct ids. */
+    static final class PostingList {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            if (size > 0 && ids[size - 1] < id) {
+                append(id);
+                return;
+            }
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                return;
+            }
+            int insert = -at - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insert, ids, insert + 1, size - insert);
+            ids[insert] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+                size--;
+            }
+        }
+
+        /** Removes every id of {@code other} in one merge pass over both sorted arrays. */
+        void removeAll(PostingList other) {
+            int kept = 0;
+            int j = 0;
+            for (int i = 0; i < size; i++) {
+                long id = ids[i];
+                while (j < other.size && other.ids[j] < id) {
+                    j++;
+                }
+                if (j < other.size && other.ids[j] == id) {
+                    continue;
+                }
+                ids[kept++] = id;
+            }
+            size = kept;
+        }
+
+        /** Keeps only the entries of {@code target[0..length)} present here; returns the new length. */
+        int retain(long[] target, int length) {
+            int kept = 0;
+            int j = 0;
+            for (int i = 0; i < length && j < size; i++) {
+                long id = target[i];
+                while (j < size && ids[j] < id) {
+                    j++;
+                }
+                if (j < size && ids[j] == id) {
+                    target[kept++] = id;
+                }
+            }
+            return kept;
+        }
+
+        private void append(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+}
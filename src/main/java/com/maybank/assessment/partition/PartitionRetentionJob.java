@@ -0,0 +1,76 @@
+package com.maybank.assessment.partition;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the current month and the {@code partition.retention.months - 1} before it, and
+ * drops older months through {@link TransactionPartitionManager#drop}.
+ * Runs once the application is ready and then every
+ * {@code partition.retention.interval-minutes}. Enabled with
+ * {@code partition.retention.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "partition.retention.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class PartitionRetentionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionRetentionJob.class);
+
+    private final TransactionPartitionManager partitions;
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("partition-retention").factory());
+
+    @Value("${partition.retention.months:24}")
+    private int months;
+
+    @Value("${partition.retention.interval-minutes:60}")
+    private long intervalMinutes;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (months < 1) {
+            throw new IllegalArgumentException("partition.retention.months must be at least 1");
+        }
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                purge(LocalDate.now());
+            } catch (RuntimeException e) {
+                log.error("Partition retention run failed; it is retried in {} minutes", intervalMinutes, e);
+            }
+        }, 0, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /** Drops every month older than the retained months as of {@code today}; returns rows removed. */
+    public long purge(LocalDate today) {
+        LocalDate oldestKept = YearMonth.from(today).minusMonths(months - 1L).atDay(1);
+        List<TransactionPartitionManager.MonthPartition> expired = partitions.partitionsBefore(oldestKept);
+        long removed = 0;
+        for (TransactionPartitionManager.MonthPartition partition : expired) {
+            removed += partitions.drop(partition.month());
+        }
+        if (!expired.isEmpty()) {
+            log.info("Dropped {} months before {} ({} rows)", expired.size(), oldestKept, removed);
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,65 @@
+package com.maybank.assessment.partition;
+
+import com.maybank.assessment.event.TransactionsPurgedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Month ranges of {@code transaction_records} for retention. The table is not partitioned:
+ * a month is the {@code trx_date} range of the keyset index, listed and removed with one
+ * range query each.
+ */
+@Component
+public class TransactionPartitionManager {
+
+    private static final String TABLE = "transaction_records";
+
+    /** A month, as {@code yyyyMM}, and the rows it holds. */
+    public record MonthPartition(int month, long rows) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate separateTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TransactionPartitionManager(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                       ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.separateTransaction = new TransactionTemplate(transactionManager);
+        this.separateTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+    }
+
+    /** Months with rows dated before {@code before}, oldest first; read on the keyset index. */
+    public List<MonthPartition> partitionsBefore(LocalDate before) {
+        return jdbcTemplate.query("SELECT EXTRACT(YEAR FROM trx_date) * 100 + EXTRACT(MONTH FROM trx_date) AS m,"
+                        + " COUNT(*) FROM " + TABLE + " WHERE trx_date < ? GROUP BY m ORDER BY m",
+                (rs, n) -> new MonthPartition(rs.getInt(1), rs.getLong(2)), Date.valueOf(before));
+    }
+
+    /**
+     * Removes every row of {@code month} with one {@code trx_date} range delete and publishes
+     * a {@link TransactionsPurgedEvent} in the same transaction, so listeners see it once the
+     * removal has committed.
+     */
+    public long drop(int month) {
+        YearMonth yearMonth = YearMonth.of(month / 100, month % 100);
+        Long rows = separateTransaction.execute(status -> {
+            long removed = jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE trx_date >= ? AND trx_date < ?",
+                    Date.valueOf(yearMonth.atDay(1)), Date.valueOf(yearMonth.plusMonths(1).atDay(1)));
+            eventPublisher.publishEvent(new TransactionsPurgedEvent(month, removed));
+            return removed;
+        });
+        return rows == null ? 0 : rows;
+    }
+}
@@ -0,0 +1,36 @@
+package com.maybank.assessment.replica;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks work that may read from the replica. Only read-only transactions started inside
+ * {@link #prefer} are routed there, and only while the replica is within
+ * {@code datasource.replica.max-lag-millis}; everything else, including every read-only
+ * transaction outside the scope, stays on the primary. The replica only holds
+ * {@code transaction_records}, so this is an opt-in rather than a rule for all read-only work.
+ *
+ * <p>Without {@code datasource.replica.enabled} the scope has no effect.
+ */
+public final class ReadReplica {
+
+    private static final ThreadLocal<Boolean> PREFERRED = new ThreadLocal<>();
+
+    private ReadReplica() {
+    }
+
+    public static <T> T prefer(Supplier<T> work) {
+        if (isPreferred()) {
+            return work.get();
+        }
+        PREFERRED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            PREFERRED.remove();
+        }
+    }
+
+    static boolean isPreferred() {
+        return PREFERRED.get() != null;
+    }
+}
@@ -0,0 +1,35 @@
+package com.maybank.assessment.replica;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Picks the primary or the replica pool per connection. Behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} the choice is made
+ * at the first statement, once the transaction's read-only flag is known.
+ */
+class ReadRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, REPLICA }
+
+    private final BooleanSupplier replicaServing;
+
+    ReadRoutingDataSource(DataSource primary, DataSource replica, BooleanSupplier replicaServing) {
+        this.replicaServing = replicaServing;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Route determineCurrentLookupKey() {
+        return ReadReplica.isPreferred()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && replicaServing.getAsBoolean() ? Route.REPLICA : Route.PRIMARY;
+    }
+}
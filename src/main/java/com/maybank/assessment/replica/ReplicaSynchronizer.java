@@ -0,0 +1,210 @@
+package com.maybank.assessment.replica;
+
+import com.maybank.assessment.entity.TransactionRecordEntity;
+import com.maybank.assessment.event.ReplicaSyncedEvent;
+import com.maybank.assessment.event.TransactionDescriptionChangedEvent;
+import com.maybank.assessment.event.TransactionsImportedEvent;
+import com.maybank.assessment.event.TransactionsPurgedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Types;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the replica's copy of {@code transaction_records} in step with the primary. At start
+ * (after a snapshot restore) the table definition is copied with H2's {@code SCRIPT} and all
+ * rows are copied across; afterwards every committed import chunk and description change is
+ * applied in commit order on a single thread, {@code datasource.replica.lag-millis} after the
+ * commit, to stand in for the replication delay of a real replica.
+ *
+ * <p>Writes are {@code MERGE}s keyed by id, and description changes re-read the row from the
+ * primary, so a change that the initial copy already contained is applied again harmlessly.
+ * Lag is the age of the oldest change not yet applied; reads fall back to the primary until
+ * the copy is done, while the lag exceeds {@code datasource.replica.max-lag-millis}, and for
+ * good once an apply fails.
+ */
+@Component
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReplicaSynchronizer {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaSynchronizer.class);
+    private static final int BATCH_SIZE = 5000;
+
+    private static final String COLUMNS =
+            "id, account_number, trx_amount, description, trx_date, trx_time, customer_id, version, line_hash";
+    private static final String MERGE =
+            "MERGE INTO transaction_records (" + COLUMNS + ") KEY (id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate primary;
+    private final NamedParameterJdbcTemplate primaryNamed;
+    private final JdbcTemplate replica;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ScheduledExecutorService applier =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("replica-sync").factory());
+    private final Queue<Long> pendingSince = new ConcurrentLinkedQueue<>();
+    private volatile boolean ready;
+    private volatile boolean failed;
+
+    @Value("${datasource.replica.lag-millis:0}")
+    private long lagMillis;
+
+    @Value("${datasource.replica.max-lag-millis:1000}")
+    private long maxLagMillis;
+
+    public ReplicaSynchronizer(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                               @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                               ApplicationEventPublisher eventPublisher, MeterRegistry registry) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.primary.setFetchSize(1000);
+        this.primaryNamed = new NamedParameterJdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.eventPublisher = eventPublisher;
+        Gauge.builder("datasource.replica.lag", this, ReplicaSynchronizer::lag)
+                .description("Age in milliseconds of the oldest committed change not yet on the replica")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    /** True when read-only work may be routed to the replica. */
+    public boolean isServing() {
+        return ready && !failed && lag() <= maxLagMillis;
+    }
+
+    /** Milliseconds since the oldest change still waiting to be applied was committed. */
+    public long lag() {
+        Long oldest = pendingSince.peek();
+        return oldest == null ? 0 : (System.nanoTime() - oldest) / 1_000_000;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void start() {
+        applier.execute(() -> {
+            try {
+                copyAll();
+                ready = true;
+            } catch (RuntimeException e) {
+                failed = true;
+                log.error("Could not copy transaction_records to the replica; reads stay on the primary", e);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onImported(TransactionsImportedEvent event) {
+        enqueue(event, () -> merge(event.records().stream().map(ReplicaSynchronizer::row).toList()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDescriptionChanged(TransactionDescriptionChangedEvent event) {
+        enqueue(event, () -> merge(primaryNamed.query("SELECT " + COLUMNS + " FROM transaction_records WHERE id = :id",
+                new MapSqlParameterSource("id", event.id()), (rs, n) -> row(rs))));
+    }
+
+    /** Removes the purged month with the same {@code trx_date} range delete the primary used. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPurged(TransactionsPurgedEvent event) {
+        YearMonth month = YearMonth.of(event.month() / 100, event.month() % 100);
+        enqueue(event, () -> replica.update("DELETE FROM transaction_records WHERE trx_date >= ? AND trx_date < ?",
+                Date.valueOf(month.atDay(1)), Date.valueOf(month.plusMonths(1).atDay(1))));
+    }
+
+    @PreDestroy
+    public void stop() {
+        applier.shutdownNow();
+    }
+
+    private void enqueue(Object change, Runnable apply) {
+        pendingSince.add(System.nanoTime());
+        try {
+            applier.schedule(() -> {
+                try {
+                    if (!failed) {
+                        apply.run();
+                        eventPublisher.publishEvent(new ReplicaSyncedEvent(change));
+                    }
+                } catch (RuntimeException e) {
+                    failed = true;
+                    log.error("Could not apply {} to the replica; reads stay on the primary", change, e);
+                } finally {
+                    pendingSince.poll();
+                }
+            }, lagMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            pendingSince.poll();
+        }
+    }
+
+    private void copyAll() {
+        long started = System.nanoTime();
+        List<String> ddl = primary.queryForList("SCRIPT NODATA NOPASSWORDS NOSETTINGS DROP TABLE transaction_records",
+                String.class);
+        for (String statement : ddl) {
+            if (!statement.startsWith("CREATE USER") && !statement.startsWith("--")) {
+                replica.execute(statement);
+            }
+        }
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        long[] rows = {0};
+        primary.query("SELECT " + COLUMNS + " FROM transaction_records", (RowCallbackHandler) rs -> {
+            batch.add(row(rs));
+            rows[0]++;
+            if (batch.size() >= BATCH_SIZE) {
+                merge(batch);
+                batch.clear();
+            }
+        });
+        merge(batch);
+        log.info("Copied {} rows to the replica in {} ms", rows[0], (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void merge(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            replica.batchUpdate(MERGE, rows, new int[]{Types.BIGINT, Types.VARCHAR, Types.DECIMAL, Types.VARCHAR,
+                    Types.DATE, Types.TIME, Types.VARCHAR, Types.INTEGER, Types.BIGINT});
+        }
+    }
+
+    private static Object[] row(ResultSet rs) throws SQLException {
+        return new Object[]{rs.getLong(1), rs.getString(2), rs.getBigDecimal(3), rs.getString(4),
+                rs.getDate(5), rs.getTime(6), rs.getString(7), rs.getInt(8), rs.getObject(9, Long.class)};
+    }
+
+    private static Object[] row(TransactionRecordEntity record) {
+        return new Object[]{record.getId(), record.getAccountNumber(), record.getTrxAmount(), record.getDescription(),
+                record.getTrxDate() == null ? null : Date.valueOf(record.getTrxDate()),
+                record.getTrxTime() == null ? null : Time.valueOf(record.getTrxTime()),
+                record.getCustomerId(), record.getVersion(), record.getLineHash()};
+    }
+}
@@ -0,0 +1,24 @@
+package com.maybank.assessment.repository;
+
+import com.maybank.assessment.entity.ImportCheckpointEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface ImportCheckpointRepository extends JpaRepository<ImportCheckpointEntity, Long> {
+
+    List<ImportCheckpointEntity> findByFileKeyOrderByRangeStart(String fileKey);
+
+    @Modifying
+    @Query("update ImportCheckpointEntity c set c.committedOffset = :offset, c.rowsCommitted = c.rowsCommitted + :rows where c.id = :id")
+    int advance(@Param("id") Long id, @Param("offset") long offset, @Param("rows") long rows);
+
+    @Modifying
+    @Transactional
+    @Query("delete from ImportCheckpointEntity c where c.fileKey = :fileKey")
+    int deleteByFileKey(@Param("fileKey") String fileKey);
+}
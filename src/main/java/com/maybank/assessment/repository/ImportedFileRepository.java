@@ -0,0 +1,11 @@
+package com.maybank.assessment.repository;
+
+import com.maybank.assessment.entity.ImportedFileEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface ImportedFileRepository extends JpaRepository<ImportedFileEntity, Long> {
+
+    Optional<ImportedFileEntity> findByContentHash(String contentHash);
+}
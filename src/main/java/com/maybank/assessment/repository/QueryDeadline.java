@@ -0,0 +1,67 @@
+package com.maybank.assessment.repository;
+
+import com.maybank.assessment.exception.DeadlineExceededException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Deadline for the queries run by the current thread. Inside {@link #within} every query of
+ * {@link TransactionRecordQueryRepositoryImpl} carries a JDBC query timeout of the time left,
+ * so the driver cancels a slow statement instead of holding the connection after the client
+ * has given up. A nested scope can only shorten the deadline. JDBC timeouts are whole
+ * seconds, so the statement is cancelled up to a second after the deadline; a query that
+ * would start past it is not sent at all.
+ */
+public final class QueryDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    private QueryDeadline() {
+    }
+
+    /**
+     * Runs {@code work} with a deadline {@code timeout} from now; a zero or negative timeout
+     * means none. A query cancelled by its timeout surfaces as {@link DeadlineExceededException}.
+     */
+    public static <T> T within(Duration timeout, Supplier<T> work) {
+        Long outer = DEADLINE_NANOS.get();
+        if (timeout.isZero() || timeout.isNegative()) {
+            return work.get();
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        if (outer == null || deadline - outer < 0) {
+            DEADLINE_NANOS.set(deadline);
+        }
+        try {
+            return work.get();
+        } catch (QueryTimeoutException | jakarta.persistence.QueryTimeoutException e) {
+            throw new DeadlineExceededException("Query cancelled after its " + timeout.toMillis() + " ms deadline", e);
+        } finally {
+            if (outer == null) {
+                DEADLINE_NANOS.remove();
+            } else {
+                DEADLINE_NANOS.set(outer);
+            }
+        }
+    }
+
+    /** Time left before the current deadline, or {@code null} outside {@link #within}. */
+    public static Duration remaining() {
+        Long deadline = DEADLINE_NANOS.get();
+        return deadline == null ? null : Duration.ofNanos(deadline - System.nanoTime());
+    }
+
+    /** JDBC timeout in whole seconds, rounded up; fails if the deadline has already passed. */
+    static Integer timeoutSeconds() {
+        Duration left = remaining();
+        if (left == null) {
+            return null;
+        }
+        if (left.isZero() || left.isNegative()) {
+            throw new DeadlineExceededException("Deadline passed before the query was sent");
+        }
+        return (int) Math.min(Integer.MAX_VALUE, (left.toMillis() + 999) / 1000);
+    }
+}
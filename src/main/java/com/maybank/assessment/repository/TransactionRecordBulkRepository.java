@@ -0,0 +1,42 @@
+package com.maybank.assessment.repository;
+
+import com.maybank.assessment.dto.BulkDescriptionUpdate;
+import com.maybank.assessment.dto.TransactionRecordDTO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+/**
+ * Set-based writes issued as plain JDBC batches; they bypass the persistence context, so
+ * callers must not hold managed copies of the rows they touch.
+ */
+public interface TransactionRecordBulkRepository {
+
+    /**
+     * Runs {@code UPDATE ... WHERE id = ? AND version = ?} for every entry in one JDBC batch
+     * and returns the per-entry update counts (0 = stale version or missing row).
+     */
+    int[] updateDescriptions(List<BulkDescriptionUpdate> updates);
+
+    /**
+     * Conditional single-row update that returns the row as written in the same round trip;
+     * empty when the row is missing or no longer at {@code expectedVersion}.
+     */
+    Optional<TransactionRecordDTO> updateDescriptionIfVersion(Long id, int expectedVersion, String description);
+
+    /** Current version and partition keys of the given rows; missing ids are absent from the map. */
+    Map<Long, RowVersion> findVersions(Collection<Long> ids);
+
+    /** The subset of {@code lineHashes} already stored. */
+    Set<Long> findExistingLineHashes(Collection<Long> lineHashes);
+
+    /** Streams every stored line hash, for warming the import's duplicate filter. */
+    void forEachLineHash(LongConsumer consumer);
+
+    record RowVersion(Long id, int version, String accountNumber, String customerId) {
+    }
+}
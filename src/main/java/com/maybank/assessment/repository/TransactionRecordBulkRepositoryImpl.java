@@ -0,0 +1,99 @@
+package com.maybank.assessment.repository;
+
+import com.maybank.assessment.dto.BulkDescriptionUpdate;
+import com.maybank.assessment.dto.TransactionRecordDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+public class TransactionRecordBulkRepositoryImpl implements TransactionRecordBulkRepository {
+
+    private static final String UPDATE_DESCRIPTION =
+            "UPDATE transaction_records SET description = ?, version = version + 1 WHERE id = ? AND version = ?";
+
+    /** H2's data-change delta table: the UPDATE ... RETURNING equivalent. */
+    private static final String UPDATE_DESCRIPTION_RETURNING =
+            "SELECT id, account_number, trx_amount, description, trx_date, trx_time, customer_id, version"
+                    + " FROM FINAL TABLE (" + UPDATE_DESCRIPTION + ")";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public TransactionRecordBulkRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    public int[] updateDescriptions(List<BulkDescriptionUpdate> updates) {
+        if (updates.isEmpty()) {
+            return new int[0];
+        }
+        return jdbcTemplate.batchUpdate(UPDATE_DESCRIPTION, updates, updates.size(), (ps, update) -> {
+            ps.setString(1, update.getDescription());
+            ps.setLong(2, update.getId());
+            ps.setInt(3, update.getExpectedVersion());
+        })[0];
+    }
+
+    @Override
+    public Optional<TransactionRecordDTO> updateDescriptionIfVersion(Long id, int expectedVersion, String description) {
+        List<TransactionRecordDTO> rows = jdbcTemplate.query(UPDATE_DESCRIPTION_RETURNING,
+                (rs, rowNum) -> new TransactionRecordDTO(
+                        rs.getLong(1),
+                        rs.getString(2),
+                        rs.getBigDecimal(3),
+                        rs.getString(4),
+                        rs.getObject(5, LocalDate.class),
+                        rs.getObject(6, LocalTime.class),
+                        rs.getString(7),
+                        rs.getInt(8)),
+                description, id, expectedVersion);
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    public Map<Long, RowVersion> findVersions(Collection<Long> ids) {
+        Map<Long, RowVersion> versions = new HashMap<>();
+        namedJdbcTemplate.query(
+                "SELECT id, version, account_number, customer_id FROM transaction_records WHERE id IN (:ids)",
+                Map.of("ids", ids),
+                rs -> {
+                    long id = rs.getLong(1);
+                    versions.put(id, new RowVersion(id, rs.getInt(2), rs.getString(3), rs.getString(4)));
+                });
+        return versions;
+    }
+
+    @Override
+    public Set<Long> findExistingLineHashes(Collection<Long> lineHashes) {
+        Set<Long> existing = new HashSet<>();
+        namedJdbcTemplate.query(
+                "SELECT line_hash FROM transaction_records WHERE line_hash IN (:hashes)",
+                Map.of("hashes", lineHashes),
+                rs -> {
+                    existing.add(rs.getLong(1));
+                });
+        return existing;
+    }
+
+    @Override
+    public void forEachLineHash(LongConsumer consumer) {
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(10_000);
+        streaming.query("SELECT line_hash FROM transaction_records WHERE line_hash IS NOT NULL",
+                rs -> {
+                    consumer.accept(rs.getLong(1));
+                });
+    }
+}
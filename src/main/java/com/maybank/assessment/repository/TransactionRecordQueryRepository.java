@@ -0,0 +1,29 @@
+package com.maybank.assessment.repository;
+
+import com.maybank.assessment.dto.TransactionRecordDTO;
+import com.maybank.assessment.entity.TransactionRecordEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Read-only queries that select straight into {@link TransactionRecordDTO}, so search results
+ * are never hydrated as managed entities or snapshotted for dirty checking.
+ */
+public interface TransactionRecordQueryRepository {
+
+    /** One page, read with a single query for one row more than the page; no {@code COUNT(*)} is run. */
+    Slice<TransactionRecordDTO> findDtos(Specification<TransactionRecordEntity> spec, Pageable pageable);
+
+    List<TransactionRecordDTO> findDtos(Specification<TransactionRecordEntity> spec, Sort sort, int limit);
+
+    /**
+     * Streams matching rows over a server-side cursor using {@code export.fetch-size}.
+     * Must be consumed, and closed, inside the caller's transaction.
+     */
+    Stream<TransactionRecordDTO> streamDtos(Specification<TransactionRecordEntity> spec, Sort sort);
+}
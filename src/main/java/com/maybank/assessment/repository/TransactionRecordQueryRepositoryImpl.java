@@ -0,0 +1,98 @@
+package com.maybank.assessment.repository;
+
+import com.maybank.assessment.dto.TransactionRecordDTO;
+import com.maybank.assessment.entity.TransactionRecordEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.FlushMode;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Transactional(readOnly = true)
+public class TransactionRecordQueryRepositoryImpl implements TransactionRecordQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Override
+    public Slice<TransactionRecordDTO> findDtos(Specification<TransactionRecordEntity> spec, Pageable pageable) {
+        TypedQuery<TransactionRecordDTO> query = dtoQuery(spec, pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList());
+        }
+        List<TransactionRecordDTO> rows = new ArrayList<>(query
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList());
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        if (hasNext) {
+            rows.remove(pageable.getPageSize());
+        }
+        return new SliceImpl<>(rows, pageable, hasNext);
+    }
+
+    @Override
+    public List<TransactionRecordDTO> findDtos(Specification<TransactionRecordEntity> spec, Sort sort, int limit) {
+        return dtoQuery(spec, sort).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Stream<TransactionRecordDTO> streamDtos(Specification<TransactionRecordEntity> spec, Sort sort) {
+        return dtoQuery(spec, sort)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    private TypedQuery<TransactionRecordDTO> dtoQuery(Specification<TransactionRecordEntity> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionRecordDTO> cq = cb.createQuery(TransactionRecordDTO.class);
+        Root<TransactionRecordEntity> root = cq.from(TransactionRecordEntity.class);
+        cq.select(cb.construct(TransactionRecordDTO.class,
+                root.get("id"),
+                root.get("accountNumber"),
+                root.get("trxAmount"),
+                root.get("description"),
+                root.get("trxDate"),
+                root.get("trxTime"),
+                root.get("customerId"),
+                root.get("version")));
+        Predicate predicate = spec.toPredicate(root, cq, cb);
+        if (predicate != null) {
+            cq.where(predicate);
+        }
+        if (sort.isSorted()) {
+            cq.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return readOnly(entityManager.createQuery(cq));
+    }
+
+    /** Read-only, no flush, and cancelled by the driver at the caller's {@link QueryDeadline}. */
+    private static <T> TypedQuery<T> readOnly(TypedQuery<T> query) {
+        query.setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_FLUSH_MODE, FlushMode.MANUAL);
+        Integer timeoutSeconds = QueryDeadline.timeoutSeconds();
+        if (timeoutSeconds != null) {
+            query.setHint(HibernateHints.HINT_TIMEOUT, timeoutSeconds);
+        }
+        return query;
+    }
+}
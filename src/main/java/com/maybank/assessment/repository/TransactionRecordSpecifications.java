@@ -0,0 +1,87 @@
+package com.maybank.assessment.repository;
+
+import com.maybank.assessment.dto.TransactionCursor;
+import com.maybank.assessment.dto.TransactionSearchCriteria;
+import com.maybank.assessment.entity.TransactionRecordEntity;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Arrays;
+import java.util.List;
+
+public final class TransactionRecordSpecifications {
+
+    /** Keyset order; backed by the (trx_date, trx_time, id) index on transaction_records. */
+    public static final Sort KEYSET_ORDER = Sort.by("trxDate", "trxTime", "id");
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private TransactionRecordSpecifications() {
+    }
+
+    /**
+     * Builds the filter for {@code criteria}. Every combination without a description is
+     * served by an index: account filters by (account_number, trx_date, trx_time), customer
+     * filters by (customer_id, trx_date) and date-only filters by the keyset index.
+     */
+    public static Specification<TransactionRecordEntity> matching(TransactionSearchCriteria criteria) {
+        if (criteria.getFromDate() != null && criteria.getToDate() != null
+                && criteria.getFromDate().isAfter(criteria.getToDate())) {
+            throw new IllegalArgumentException("fromDate must not be after toDate");
+        }
+        Specification<TransactionRecordEntity> spec = (root, query, cb) -> cb.conjunction();
+        if (criteria.getAccountNumber() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("accountNumber"), criteria.getAccountNumber()));
+        }
+        if (criteria.getCustomerId() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("customerId"), criteria.getCustomerId()));
+        }
+        if (criteria.getTrxDate() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("trxDate"), criteria.getTrxDate()));
+        }
+        if (criteria.getFromDate() != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("trxDate"), criteria.getFromDate()));
+        }
+        if (criteria.getToDate() != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("trxDate"), criteria.getToDate()));
+        }
+        if (criteria.getDescription() != null) {
+            String pattern = "%" + escapeLike(criteria.getDescription().toLowerCase()) + "%";
+            spec = spec.and((root, query, cb) -> cb.like(cb.lower(root.get("description")), pattern, LIKE_ESCAPE));
+        }
+        return spec;
+    }
+
+    /**
+     * Escapes the {@code LIKE} wildcards of {@code term}, so a description filter is a plain
+     * substring match, as it is for the trigram index and the columnar store.
+     */
+    static String escapeLike(String term) {
+        StringBuilder escaped = new StringBuilder(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    /** Restricts to the candidate ids produced by the description trigram index. */
+    public static Specification<TransactionRecordEntity> idIn(long[] ids) {
+        List<Long> boxed = Arrays.stream(ids).boxed().toList();
+        return (root, query, cb) -> root.get("id").in(boxed);
+    }
+
+    /** Seek predicate: rows strictly after {@code cursor} in {@link #KEYSET_ORDER}. */
+    public static Specification<TransactionRecordEntity> after(TransactionCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("trxDate"), cursor.trxDate()),
+                cb.and(cb.equal(root.get("trxDate"), cursor.trxDate()),
+                        cb.greaterThan(root.get("trxTime"), cursor.trxTime())),
+                cb.and(cb.equal(root.get("trxDate"), cursor.trxDate()),
+                        cb.equal(root.get("trxTime"), cursor.trxTime()),
+                        cb.greaterThan(root.get("id"), cursor.id())));
+    }
+}
@@ -0,0 +1,255 @@
+package com.maybank.assessment.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.maybank.assessment.dto.BulkDescriptionUpdate;
+import com.maybank.assessment.dto.BulkUpdateResultDTO;
+import com.maybank.assessment.dto.CursorPage;
+import com.maybank.assessment.dto.SearchTotalDTO;
+import com.maybank.assessment.dto.TransactionRecordDTO;
+import com.maybank.assessment.dto.TransactionSearchCriteria;
+import com.maybank.assessment.dto.UpdateDescriptionRequest;
+import com.maybank.assessment.entity.TransactionRecordEntity;
+import com.maybank.assessment.event.ReplicaSyncedEvent;
+import com.maybank.assessment.event.TransactionDescriptionChangedEvent;
+import com.maybank.assessment.event.TransactionsImportedEvent;
+import com.maybank.assessment.event.TransactionsPurgedEvent;
+import com.maybank.assessment.exception.DeadlineExceededException;
+import com.maybank.assessment.replica.ReadReplica;
+import com.maybank.assessment.repository.QueryDeadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-limited cache in front of {@link TransactionRecordServiceImpl} searches.
+ * Entries are keyed by the normalized filters plus page (or cursor) and are invalidated
+ * after commit by imports and description updates: only entries filtered on an affected
+ * account or customer, and entries with neither filter (which can contain any row), are
+ * dropped. A retention purge drops every entry.
+ *
+ * <p>Searches may be served by the read replica ({@link ReadReplica}); a change is then
+ * invalidated a second time once the replica has applied it, so a search that read the
+ * replica between the commit and the apply does not stay cached.
+ *
+ * <p>Misses are single-flight: identical searches arriving while one is already loading wait
+ * for its result instead of running the same query and count again.
+ */
+@Service
+@Primary
+public class CachingTransactionRecordService implements TransactionRecordService {
+
+    private final TransactionRecordServiceImpl delegate;
+    private final Cache<SearchKey, Object> cache;
+    /** Bumped on every invalidation; results loaded across one are not cached. */
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<SearchKey, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    public CachingTransactionRecordService(TransactionRecordServiceImpl delegate,
+                                           @Value("${search.cache.maximum-size:10000}") long maximumSize,
+                                           @Value("${search.cache.ttl-seconds:300}") long ttlSeconds,
+                                           MeterRegistry registry) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "search");
+        this.coalesced = Counter.builder("transactions.search.coalesced")
+                .description("Searches that waited for an identical in-flight search instead of querying")
+                .register(registry);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Slice<TransactionRecordDTO> search(TransactionSearchCriteria criteria, Pageable pageable) {
+        SearchKey key = SearchKey.of(criteria, pageable.toString());
+        return (Slice<TransactionRecordDTO>) cached(key,
+                () -> ReadReplica.prefer(() -> delegate.search(criteria, pageable)));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public CursorPage<TransactionRecordDTO> searchAfter(TransactionSearchCriteria criteria, String after, int size) {
+        SearchKey key = SearchKey.of(criteria, "after=" + after + ",size=" + size);
+        return (CursorPage<TransactionRecordDTO>) cached(key,
+                () -> ReadReplica.prefer(() -> delegate.searchAfter(criteria, after, size)));
+    }
+
+    /** Answered from in-memory counters, so it is never cached. */
+    @Override
+    public SearchTotalDTO countTotal(TransactionSearchCriteria criteria) {
+        return delegate.countTotal(criteria);
+    }
+
+    @Override
+    public TransactionRecordDTO findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public TransactionRecordDTO updateDescription(Long id, UpdateDescriptionRequest request) {
+        return delegate.updateDescription(id, request);
+    }
+
+    @Override
+    public TransactionRecordDTO updateDescription(Long id, UpdateDescriptionRequest request, int expectedVersion) {
+        return delegate.updateDescription(id, request, expectedVersion);
+    }
+
+    @Override
+    public List<BulkUpdateResultDTO> updateDescriptions(List<BulkDescriptionUpdate> updates) {
+        return delegate.updateDescriptions(updates);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onImported(TransactionsImportedEvent event) {
+        Set<String> accounts = new HashSet<>();
+        Set<String> customers = new HashSet<>();
+        for (TransactionRecordEntity record : event.records()) {
+            accounts.add(record.getAccountNumber());
+            customers.add(record.getCustomerId());
+        }
+        invalidate(accounts, customers);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDescriptionChanged(TransactionDescriptionChangedEvent event) {
+        Set<String> accounts = new HashSet<>();
+        Set<String> customers = new HashSet<>();
+        accounts.add(event.accountNumber());
+        customers.add(event.customerId());
+        invalidate(accounts, customers);
+    }
+
+    /** A purged month can be in any cached result, so everything is dropped. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPurged(TransactionsPurgedEvent event) {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @EventListener
+    public void onReplicaSynced(ReplicaSyncedEvent event) {
+        if (event.change() instanceof TransactionsImportedEvent imported) {
+            onImported(imported);
+        } else if (event.change() instanceof TransactionDescriptionChangedEvent changed) {
+            onDescriptionChanged(changed);
+        } else if (event.change() instanceof TransactionsPurgedEvent purged) {
+            onPurged(purged);
+        }
+    }
+
+    /**
+     * Returns the cached result or loads it. A load is shared only by callers that missed in
+     * the same generation, so nobody joins a load that started before an invalidation. Each
+     * waiter gives up at its own {@link QueryDeadline}, and a load that fails, the leader's
+     * deadline included, fails its waiters with the same error; a waiter never runs the search
+     * again itself.
+     */
+    private Object cached(SearchKey key, Supplier<Object> loader) {
+        Object hit = cache.getIfPresent(key);
+        if (hit != null) {
+            return hit;
+        }
+        long observed = generation.get();
+        Flight mine = new Flight(observed, new CompletableFuture<>());
+        Flight flight = inFlight.compute(key,
+                (k, running) -> running != null && running.generation() == observed ? running : mine);
+        if (flight != mine) {
+            coalesced.increment();
+            return await(flight);
+        }
+        try {
+            Object loaded = loader.get();
+            if (generation.get() == observed) {
+                cache.put(key, loaded);
+            }
+            mine.result().complete(loaded);
+            return loaded;
+        } catch (RuntimeException | Error e) {
+            mine.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /** The shared result, or the leader's failure rethrown. */
+    private static Object await(Flight flight) {
+        Duration left = QueryDeadline.remaining();
+        try {
+            return left == null
+                    ? flight.result().get()
+                    : flight.result().get(Math.max(0, left.toNanos()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException("Deadline passed while waiting for an identical search");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an identical search", e);
+        }
+    }
+
+    private void invalidate(Set<String> accounts, Set<String> customers) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key ->
+                (key.accountNumber() == null && key.customerId() == null)
+                        || accounts.contains(key.accountNumber())
+                        || customers.contains(key.customerId()));
+    }
+
+    private record Flight(long generation, CompletableFuture<Object> result) {
+    }
+
+    record SearchKey(String accountNumber, String customerId, String description, LocalDate trxDate,
+                     LocalDate fromDate, LocalDate toDate, String page) {
+
+        /** Description matching is case-insensitive, so the term is lower-cased like the LIKE pattern. */
+        static SearchKey of(TransactionSearchCriteria criteria, String page) {
+            String description = criteria.getDescription() == null
+                    ? null : criteria.getDescription().toLowerCase();
+            return new SearchKey(criteria.getAccountNumber(), criteria.getCustomerId(), description,
+                    criteria.getTrxDate(), criteria.getFromDate(), criteria.getToDate(), page);
+        }
+    }
+}
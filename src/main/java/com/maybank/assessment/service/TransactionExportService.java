@@ -0,0 +1,11 @@
+package com.maybank.assessment.service;
+
+import com.maybank.assessment.dto.ExportFormat;
+import com.maybank.assessment.dto.TransactionSearchCriteria;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface TransactionExportService {
+    void export(TransactionSearchCriteria criteria, ExportFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,113 @@
+package com.maybank.assessment.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.maybank.assessment.dto.ExportFormat;
+import com.maybank.assessment.dto.TransactionRecordDTO;
+import com.maybank.assessment.dto.TransactionSearchCriteria;
+import com.maybank.assessment.repository.TransactionRecordRepository;
+import com.maybank.assessment.repository.TransactionRecordSpecifications;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class TransactionExportServiceImpl implements TransactionExportService {
+
+    static final String HEADER = "ACCOUNT_NUMBER|TRX_AMOUNT|DESCRIPTION|TRX_DATE|TRX_TIME|CUSTOMER_ID";
+    private static final String LINE_END = "\r\n";
+    private static final int BUFFER_CHARS = 64 * 1024;
+    private static final int FLUSH_EVERY_ROWS = 1000;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private final TransactionRecordRepository transactionRecordRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Streams every matching row to {@code out} in keyset order while the read-only
+     * transaction keeps the server-side cursor open. Output is flushed every
+     * {@value #FLUSH_EVERY_ROWS} rows, so memory stays flat and the client starts
+     * receiving data straight away.
+     */
+    @Transactional(readOnly = true)
+    public void export(TransactionSearchCriteria criteria, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_CHARS);
+        if (format == ExportFormat.CSV) {
+            writer.write(HEADER);
+            writer.write(LINE_END);
+        }
+        writer.flush();
+
+        ObjectWriter jsonWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n");
+        long written = 0;
+        try (Stream<TransactionRecordDTO> rows = transactionRecordRepository.streamDtos(
+                TransactionRecordSpecifications.matching(criteria), TransactionRecordSpecifications.KEYSET_ORDER);
+             SequenceWriter ndjson = format == ExportFormat.NDJSON ? jsonWriter.writeValues(writer) : null) {
+            for (Iterator<TransactionRecordDTO> it = rows.iterator(); it.hasNext(); ) {
+                TransactionRecordDTO row = it.next();
+                if (ndjson != null) {
+                    ndjson.write(row);
+                } else {
+                    writeCsv(writer, row);
+                }
+                if (++written % FLUSH_EVERY_ROWS == 0) {
+                    if (ndjson != null) {
+                        ndjson.flush();
+                    }
+                    writer.flush();
+                }
+            }
+        }
+        if (format == ExportFormat.NDJSON && written > 0) {
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * A null field is written empty rather than failing the export part-way through, and a
+     * {@code '|'} or line break inside a field is written as a space, so every row stays one
+     * line in the dataSource.txt layout the importer reads back.
+     */
+    private static void writeCsv(Writer writer, TransactionRecordDTO row) throws IOException {
+        writeField(writer, row.getAccountNumber());
+        writer.write('|');
+        writeField(writer, row.getTrxAmount() == null ? null : row.getTrxAmount().toPlainString());
+        writer.write('|');
+        writeField(writer, row.getDescription());
+        writer.write('|');
+        writeField(writer, row.getTrxDate() == null ? null : row.getTrxDate().toString());
+        writer.write('|');
+        writeField(writer, row.getTrxTime() == null ? null : TIME_FORMAT.format(row.getTrxTime()));
+        writer.write('|');
+        writeField(writer, row.getCustomerId());
+        writer.write(LINE_END);
+    }
+
+    private static void writeField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            writer.write(c == '|' || c == '\r' || c == '\n' ? ' ' : c);
+        }
+    }
+}
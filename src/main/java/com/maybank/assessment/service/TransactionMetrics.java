@@ -0,0 +1,99 @@
+package com.maybank.assessment.service;
+
+import com.maybank.assessment.dto.TransactionSearchCriteria;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for the search and update paths. Searches are tagged with the combination of filters
+ * present (e.g. {@code account+from+to}), never their values, so the series stay bounded and
+ * slow query shapes can be picked out directly.
+ */
+@Component
+public class TransactionMetrics {
+
+    private final MeterRegistry registry;
+
+    public TransactionMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /** @param mode {@code offset} or {@code cursor} */
+    public void recordSearch(TransactionSearchCriteria criteria, String mode, long nanos, int results) {
+        String filters = filters(criteria);
+        Timer.builder("transactions.search")
+                .description("Search latency by filter combination")
+                .tag("filters", filters)
+                .tag("mode", mode)
+                .tag("results", resultBucket(results))
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("transactions.search.results")
+                .description("Rows returned per search")
+                .tag("filters", filters)
+                .register(registry)
+                .record(results);
+    }
+
+    /**
+     * @param mode    {@code read-modify-write}, {@code if-match} or {@code bulk}
+     * @param outcome {@code ok}, {@code conflict} or {@code not_found}
+     */
+    public void recordUpdate(String mode, String outcome, long nanos) {
+        Timer.builder("transactions.update")
+                .description("Description update latency")
+                .tag("mode", mode)
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordConflicts(String mode, int conflicts) {
+        if (conflicts > 0) {
+            Counter.builder("transactions.update.conflicts")
+                    .description("Updates rejected by the optimistic-lock version check")
+                    .tag("mode", mode)
+                    .register(registry)
+                    .increment(conflicts);
+        }
+    }
+
+    static String filters(TransactionSearchCriteria criteria) {
+        StringJoiner filters = new StringJoiner("+");
+        if (criteria.getAccountNumber() != null) {
+            filters.add("account");
+        }
+        if (criteria.getCustomerId() != null) {
+            filters.add("customer");
+        }
+        if (criteria.getTrxDate() != null) {
+            filters.add("date");
+        }
+        if (criteria.getFromDate() != null) {
+            filters.add("from");
+        }
+        if (criteria.getToDate() != null) {
+            filters.add("to");
+        }
+        if (criteria.getDescription() != null) {
+            filters.add("description");
+        }
+        return filters.length() == 0 ? "none" : filters.toString();
+    }
+
+    private static String resultBucket(int results) {
+        if (results == 0) {
+            return "0";
+        }
+        if (results <= 10) {
+            return "1-10";
+        }
+        return results <= 100 ? "11-100" : "100+";
+    }
+}
@@ -1,11 +1,30 @@
 package com.maybank.assessment.service;
 
+import com.maybank.assessment.dto.BulkDescriptionUpdate;
+import com.maybank.assessment.dto.BulkUpdateResultDTO;
+import com.maybank.assessment.dto.CursorPage;
+import com.maybank.assessment.dto.SearchTotalDTO;
 import com.maybank.assessment.dto.TransactionRecordDTO;
+import com.maybank.assessment.dto.TransactionSearchCriteria;
 import com.maybank.assessment.dto.UpdateDescriptionRequest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
 
 public interface TransactionRecordService {
-    Page<TransactionRecordDTO> search(String accountNumber, String customerId, String description, Pageable pageable);
+    default Slice<TransactionRecordDTO> search(String accountNumber, String customerId, String description, Pageable pageable) {
+        return search(TransactionSearchCriteria.builder()
+                .accountNumber(accountNumber)
+                .customerId(customerId)
+                .description(description)
+                .build(), pageable);
+    }
+    Slice<TransactionRecordDTO> search(TransactionSearchCriteria criteria, Pageable pageable);
+    SearchTotalDTO countTotal(TransactionSearchCriteria criteria);
+    CursorPage<TransactionRecordDTO> searchAfter(TransactionSearchCriteria criteria, String after, int size);
+    TransactionRecordDTO findById(Long id);
     TransactionRecordDTO updateDescription(Long id, UpdateDescriptionRequest request);
+    TransactionRecordDTO updateDescription(Long id, UpdateDescriptionRequest request, int expectedVersion);
+    List<BulkUpdateResultDTO> updateDescriptions(List<BulkDescriptionUpdate> updates);
 }
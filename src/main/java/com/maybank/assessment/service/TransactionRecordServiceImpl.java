@@ -1,44 +1,285 @@
 package com.maybank.assessment.service;
 
+import com.maybank.assessment.aggregate.TransactionRollupStore;
+import com.maybank.assessment.dto.BulkDescriptionUpdate;
+import com.maybank.assessment.dto.BulkUpdateResultDTO;
+import com.maybank.assessment.dto.CursorPage;
+import com.maybank.assessment.dto.SearchTotalDTO;
+import com.maybank.assessment.dto.TransactionAggregateDTO;
+import com.maybank.assessment.dto.TransactionCursor;
 import com.maybank.assessment.dto.TransactionRecordDTO;
+import com.maybank.assessment.dto.TransactionSearchCriteria;
 import com.maybank.assessment.dto.UpdateDescriptionRequest;
 import com.maybank.assessment.entity.TransactionRecordEntity;
+import com.maybank.assessment.event.TransactionDescriptionChangedEvent;
+import com.maybank.assessment.exception.PreconditionFailedException;
 import com.maybank.assessment.exception.ResourceNotFoundException;
+import com.maybank.assessment.index.DescriptionTrigramIndex;
+import com.maybank.assessment.repository.TransactionRecordBulkRepository;
 import com.maybank.assessment.repository.TransactionRecordRepository;
-import jakarta.transaction.Transactional;
+import com.maybank.assessment.repository.TransactionRecordSpecifications;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TransactionRecordServiceImpl implements TransactionRecordService {
 
+    private static final TransactionAggregateDTO EMPTY_ROLLUP = TransactionAggregateDTO.builder().build();
+
     private final TransactionRecordRepository transactionRecordRepository;
+    private final DescriptionTrigramIndex descriptionIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionMetrics metrics;
+    private final TransactionRollupStore rollups;
+
+    @Transactional(readOnly = true)
+    public Slice<TransactionRecordDTO> search(TransactionSearchCriteria criteria, Pageable pageable) {
+        long started = System.nanoTime();
+        long[] candidates = descriptionCandidates(criteria);
+        Slice<TransactionRecordDTO> page = candidates != null && candidates.length == 0
+                ? new SliceImpl<>(List.of(), pageable, false)
+                : transactionRecordRepository.findDtos(specification(criteria, candidates), pageable);
+        metrics.recordSearch(criteria, "offset", System.nanoTime() - started, page.getNumberOfElements());
+        return page;
+    }
 
-    public Page<TransactionRecordDTO> search(String accountNumber, String customerId, String description, Pageable pageable) {
-        Specification<TransactionRecordEntity> spec = (root, query, cb) -> cb.conjunction();
-        if (accountNumber != null) {
-            spec = spec.and((root, query, cb) -> cb.equal(root.get("accountNumber"), accountNumber));
+    /**
+     * Answers from the in-memory rollups without touching the database. Filtering on one
+     * account, one customer or nothing at all is exact; anything else is estimated from the
+     * narrowest rollup, scaled by how much of its date span the requested dates cover and
+     * capped by the trigram candidates of a description filter.
+     */
+    @Override
+    public SearchTotalDTO countTotal(TransactionSearchCriteria criteria) {
+        long[] candidates = descriptionCandidates(criteria);
+        if (candidates != null && candidates.length == 0) {
+            return SearchTotalDTO.builder().count(0).exact(true).build();
+        }
+        TransactionAggregateDTO account = criteria.getAccountNumber() == null ? null
+                : rollups.forAccount(criteria.getAccountNumber()).orElse(EMPTY_ROLLUP);
+        TransactionAggregateDTO customer = criteria.getCustomerId() == null ? null
+                : rollups.forCustomer(criteria.getCustomerId()).orElse(EMPTY_ROLLUP);
+        TransactionAggregateDTO base = account == null ? customer
+                : customer == null || account.getTransactionCount() <= customer.getTransactionCount() ? account : customer;
+        if (base == null) {
+            base = rollups.overall();
+        }
+        // base is the smaller of the account and customer rollups, so an empty one of either ends here
+        if (base.getTransactionCount() == 0) {
+            return SearchTotalDTO.builder().count(0).exact(true).build();
         }
-        if (customerId != null) {
-            spec = spec.and((root, query, cb) -> cb.equal(root.get("customerId"), customerId));
+        LocalDate from = criteria.getTrxDate() != null ? criteria.getTrxDate() : criteria.getFromDate();
+        LocalDate to = criteria.getTrxDate() != null ? criteria.getTrxDate() : criteria.getToDate();
+        boolean keyOnly = criteria.getAccountNumber() == null || criteria.getCustomerId() == null;
+        if (keyOnly && from == null && to == null && criteria.getDescription() == null) {
+            return SearchTotalDTO.builder().count(base.getTransactionCount()).exact(true).build();
         }
-        if (description != null) {
-            spec = spec.and((root, query, cb) -> cb.like(cb.lower(root.get("description")), "%" + description.toLowerCase() + "%"));
+        double fraction = dateFraction(base, from, to);
+        if (fraction == 0) {
+            return SearchTotalDTO.builder().count(0).exact(true).build();
         }
-        return transactionRecordRepository.findAll(spec, pageable)
-                .map(this::toDto);
+        long estimate = Math.max(1, Math.round(base.getTransactionCount() * fraction));
+        if (candidates != null) {
+            estimate = Math.min(estimate, candidates.length);
+        }
+        return SearchTotalDTO.builder().count(estimate).exact(false).build();
+    }
+
+    /**
+     * Keyset pagination: seeks past the {@code after} cursor on the (trxDate, trxTime, id)
+     * index and fetches one extra row to detect a next page, so neither an OFFSET scan nor
+     * a COUNT query is issued however deep the client pages.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TransactionRecordDTO> searchAfter(TransactionSearchCriteria criteria, String after, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        long started = System.nanoTime();
+        long[] candidates = descriptionCandidates(criteria);
+        if (candidates != null && candidates.length == 0) {
+            metrics.recordSearch(criteria, "cursor", System.nanoTime() - started, 0);
+            return CursorPage.<TransactionRecordDTO>builder().content(List.of()).build();
+        }
+        Specification<TransactionRecordEntity> spec = specification(criteria, candidates);
+        if (after != null && !after.isBlank()) {
+            spec = spec.and(TransactionRecordSpecifications.after(TransactionCursor.decode(after)));
+        }
+        List<TransactionRecordDTO> rows = new ArrayList<>(
+                transactionRecordRepository.findDtos(spec, TransactionRecordSpecifications.KEYSET_ORDER, size + 1));
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows.remove(size);
+        }
+        metrics.recordSearch(criteria, "cursor", System.nanoTime() - started, rows.size());
+        return CursorPage.<TransactionRecordDTO>builder()
+                .content(rows)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? TransactionCursor.of(rows.get(size - 1)).encode() : null)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public TransactionRecordDTO findById(Long id) {
+        return transactionRecordRepository.findDtos(TransactionRecordSpecifications.idIn(new long[]{id}), Sort.unsorted(), 1)
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Transaction with ID " + id + " not found"));
     }
 
     @Transactional
     public TransactionRecordDTO updateDescription(Long id, UpdateDescriptionRequest request) {
+        return timedUpdate("read-modify-write", () -> readModifyWrite(id, request));
+    }
+
+    private TransactionRecordDTO readModifyWrite(Long id, UpdateDescriptionRequest request) {
         TransactionRecordEntity record = transactionRecordRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction with ID " + id + " not found"));
+        String previousDescription = record.getDescription();
         record.setDescription(request.getDescription());
-        return toDto(transactionRecordRepository.save(record));
+        TransactionRecordEntity saved = transactionRecordRepository.save(record);
+        // flush so the version check runs now and the returned ETag carries the new version
+        transactionRecordRepository.flush();
+        TransactionRecordDTO updated = toDto(saved);
+        eventPublisher.publishEvent(new TransactionDescriptionChangedEvent(
+                updated.getId(), updated.getAccountNumber(), updated.getCustomerId(),
+                previousDescription, updated.getDescription()));
+        return updated;
+    }
+
+    /**
+     * {@code If-Match} update: a single conditional UPDATE that returns the written row, with
+     * no prior read. Only when it matches nothing is the row looked up, to report 404 vs 412.
+     */
+    @Transactional
+    public TransactionRecordDTO updateDescription(Long id, UpdateDescriptionRequest request, int expectedVersion) {
+        return timedUpdate("if-match", () -> conditionalUpdate(id, request, expectedVersion));
+    }
+
+    private TransactionRecordDTO conditionalUpdate(Long id, UpdateDescriptionRequest request, int expectedVersion) {
+        TransactionRecordDTO updated = transactionRecordRepository
+                .updateDescriptionIfVersion(id, expectedVersion, request.getDescription())
+                .orElseThrow(() -> transactionRecordRepository.existsById(id)
+                        ? new PreconditionFailedException("Transaction with ID " + id + " is no longer at version " + expectedVersion)
+                        : new ResourceNotFoundException("Transaction with ID " + id + " not found"));
+        eventPublisher.publishEvent(new TransactionDescriptionChangedEvent(
+                updated.getId(), updated.getAccountNumber(), updated.getCustomerId(),
+                null, updated.getDescription()));
+        return updated;
+    }
+
+    /**
+     * Applies all entries as one JDBC batch of version-checked updates, then reads the
+     * current versions back in a single query to tell conflicts from missing rows. A stale
+     * entry is reported with the same meaning as an {@link ObjectOptimisticLockingFailureException}
+     * on the single-row update but does not roll back the others.
+     */
+    @Transactional
+    public List<BulkUpdateResultDTO> updateDescriptions(List<BulkDescriptionUpdate> updates) {
+        List<BulkUpdateResultDTO> results = timedUpdate("bulk", () -> bulkUpdate(updates));
+        metrics.recordConflicts("bulk", (int) results.stream()
+                .filter(result -> result.getOutcome() == BulkUpdateResultDTO.Outcome.CONFLICT)
+                .count());
+        return results;
+    }
+
+    private List<BulkUpdateResultDTO> bulkUpdate(List<BulkDescriptionUpdate> updates) {
+        int[] counts = transactionRecordRepository.updateDescriptions(updates);
+        Map<Long, TransactionRecordBulkRepository.RowVersion> versions = transactionRecordRepository.findVersions(
+                updates.stream().map(BulkDescriptionUpdate::getId).collect(Collectors.toSet()));
+        List<BulkUpdateResultDTO> results = new ArrayList<>(updates.size());
+        for (int i = 0; i < updates.size(); i++) {
+            BulkDescriptionUpdate update = updates.get(i);
+            TransactionRecordBulkRepository.RowVersion row = versions.get(update.getId());
+            BulkUpdateResultDTO.BulkUpdateResultDTOBuilder result = BulkUpdateResultDTO.builder().id(update.getId());
+            if (counts[i] > 0) {
+                results.add(result.outcome(BulkUpdateResultDTO.Outcome.OK)
+                        .version(update.getExpectedVersion() + 1)
+                        .build());
+                eventPublisher.publishEvent(new TransactionDescriptionChangedEvent(
+                        update.getId(), row.accountNumber(), row.customerId(), null, update.getDescription()));
+            } else if (row == null) {
+                results.add(result.outcome(BulkUpdateResultDTO.Outcome.NOT_FOUND)
+                        .message("Transaction with ID " + update.getId() + " not found")
+                        .build());
+            } else {
+                results.add(result.outcome(BulkUpdateResultDTO.Outcome.CONFLICT)
+                        .version(row.version())
+                        .message(new ObjectOptimisticLockingFailureException(
+                                TransactionRecordEntity.class, update.getId()).getMessage())
+                        .build());
+            }
+        }
+        return results;
+    }
+
+    /** Records latency by outcome; a version-check failure also counts as a conflict. */
+    private <T> T timedUpdate(String mode, Supplier<T> update) {
+        long started = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = update.get();
+            outcome = "ok";
+            return result;
+        } catch (OptimisticLockingFailureException | PreconditionFailedException e) {
+            outcome = "conflict";
+            metrics.recordConflicts(mode, 1);
+            throw e;
+        } catch (ResourceNotFoundException e) {
+            outcome = "not_found";
+            throw e;
+        } finally {
+            metrics.recordUpdate(mode, outcome, System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * Share of the rollup's {@code [firstTrxDate, lastTrxDate]} days that {@code [from, to]}
+     * covers, assuming rows are spread evenly; {@code 0} when the ranges do not overlap.
+     */
+    private static double dateFraction(TransactionAggregateDTO rollup, LocalDate from, LocalDate to) {
+        LocalDate first = rollup.getFirstTrxDate();
+        LocalDate last = rollup.getLastTrxDate();
+        if ((from == null && to == null) || first == null || last == null) {
+            return 1;
+        }
+        LocalDate lo = from == null || from.isBefore(first) ? first : from;
+        LocalDate hi = to == null || to.isAfter(last) ? last : to;
+        if (hi.isBefore(lo)) {
+            return 0;
+        }
+        return (double) (ChronoUnit.DAYS.between(lo, hi) + 1) / (ChronoUnit.DAYS.between(first, last) + 1);
+    }
+
+    /**
+     * Ids that may match the description filter according to the trigram index; {@code null}
+     * when there is no description filter or the index cannot narrow it.
+     */
+    private long[] descriptionCandidates(TransactionSearchCriteria criteria) {
+        return criteria.getDescription() == null ? null : descriptionIndex.candidates(criteria.getDescription());
+    }
+
+    private Specification<TransactionRecordEntity> specification(TransactionSearchCriteria criteria, long[] candidates) {
+        Specification<TransactionRecordEntity> spec = TransactionRecordSpecifications.matching(criteria);
+        return candidates == null ? spec : spec.and(TransactionRecordSpecifications.idIn(candidates));
     }
 
     private TransactionRecordDTO toDto(TransactionRecordEntity record) {
@@ -50,6 +291,7 @@ public class TransactionRecordServiceImpl implements TransactionRecordService {
                 .trxDate(record.getTrxDate())
                 .trxTime(record.getTrxTime())
                 .customerId(record.getCustomerId())
+                .version(record.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,297 @@
+package com.maybank.assessment.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary layout of a transaction snapshot. All numbers are big-endian:
+ * <pre>
+ * header  int magic "TRXS", int format version, long row count, long max id,
+ *         long dictionary offset, long CRC32 of everything after the header
+ * rows    long id, int account code, int customer code, long amount in cents,
+ *         int epoch day, int second of day, int version, string description,
+ *         byte 1 + long line hash, or byte 0 when there is none
+ * dict    int count + strings for account numbers, then the same for customer ids
+ * </pre>
+ * Strings are an unsigned 16-bit UTF-8 length followed by the bytes, {@code 0xFFFF} for
+ * null; codes are {@code -1} for null, as are missing dates and times ({@code MIN_VALUE}
+ * for the day and amount). Account and customer ids repeat heavily, so they are written
+ * once in the trailing dictionaries, which the writer can only know once every row is out.
+ * Only files of {@link #FORMAT_VERSION} are read.
+ */
+final class TransactionSnapshotFile {
+
+    static final int MAGIC = 0x54525853;
+    static final int FORMAT_VERSION = 2;
+    static final int HEADER_BYTES = 40;
+
+    private static final int NULL_STRING = 0xFFFF;
+    private static final int MAX_ROW_BYTES = 8 + 4 + 4 + 8 + 4 + 4 + 4 + 2 + NULL_STRING + 1 + 8;
+    private static final long MAP_WINDOW_BYTES = 256L * 1024 * 1024;
+
+    private TransactionSnapshotFile() {
+    }
+
+    /** One stored row; {@code lineHash} is {@code null} for rows that did not come from a file. */
+    record Row(long id, String accountNumber, BigDecimal trxAmount, String description, LocalDate trxDate,
+               LocalTime trxTime, String customerId, int version, Long lineHash) {
+    }
+
+    /** Header fields; {@code rowCount} rows follow it. */
+    record Header(long rowCount, long maxId, long dictionaryOffset, long checksum) {
+    }
+
+    /**
+     * Streams rows into {@code target + ".tmp"} and renames it over {@code target} on
+     * {@link #commit()}, so a crash mid-write leaves the previous snapshot in place; closing
+     * an uncommitted writer deletes the partial file.
+     */
+    static final class Writer implements Closeable {
+
+        private final Path target;
+        private final Path temp;
+        private final FileChannel channel;
+        private final CRC32 crc = new CRC32();
+        private final DataOutputStream out;
+        private final Map<String, Integer> accounts = new LinkedHashMap<>();
+        private final Map<String, Integer> customers = new LinkedHashMap<>();
+        private long rows;
+        private long maxId;
+        private boolean committed;
+
+        Writer(Path target) throws IOException {
+            this.target = target;
+            this.temp = target.resolveSibling(target.getFileName() + ".tmp");
+            if (target.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(target.toAbsolutePath().getParent());
+            }
+            this.channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            channel.write(ByteBuffer.allocate(HEADER_BYTES));
+            OutputStream body = new CheckedOutputStream(Channels.newOutputStream(channel), crc);
+            this.out = new DataOutputStream(new BufferedOutputStream(body, 1 << 16));
+        }
+
+        void add(Row row) throws IOException {
+            out.writeLong(row.id());
+            out.writeInt(code(accounts, row.accountNumber()));
+            out.writeInt(code(customers, row.customerId()));
+            out.writeLong(row.trxAmount() == null ? Long.MIN_VALUE
+                    : row.trxAmount().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+            out.writeInt(row.trxDate() == null ? Integer.MIN_VALUE : (int) row.trxDate().toEpochDay());
+            out.writeInt(row.trxTime() == null ? -1 : row.trxTime().toSecondOfDay());
+            out.writeInt(row.version());
+            writeString(out, row.description());
+            if (row.lineHash() == null) {
+                out.writeByte(0);
+            } else {
+                out.writeByte(1);
+                out.writeLong(row.lineHash());
+            }
+            rows++;
+            maxId = Math.max(maxId, row.id());
+        }
+
+        long rows() {
+            return rows;
+        }
+
+        /** Writes the dictionaries and header, forces the file to disk and moves it into place. */
+        void commit() throws IOException {
+            out.flush();
+            long dictionaryOffset = channel.position();
+            writeDictionary(accounts);
+            writeDictionary(customers);
+            out.flush();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(rows)
+                    .putLong(maxId)
+                    .putLong(dictionaryOffset)
+                    .putLong(crc.getValue())
+                    .flip();
+            channel.write(header, 0);
+            channel.force(true);
+            channel.close();
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                channel.close();
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        private void writeDictionary(Map<String, Integer> dictionary) throws IOException {
+            out.writeInt(dictionary.size());
+            for (String value : dictionary.keySet()) {
+                writeString(out, value);
+            }
+        }
+
+        private static int code(Map<String, Integer> dictionary, String value) {
+            return value == null ? -1 : dictionary.computeIfAbsent(value, v -> dictionary.size());
+        }
+
+        private static void writeString(DataOutputStream out, String value) throws IOException {
+            if (value == null) {
+                out.writeShort(NULL_STRING);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length >= NULL_STRING) {
+                throw new IllegalStateException("Value too long for a snapshot string: " + bytes.length + " bytes");
+            }
+            out.writeShort(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Memory-maps {@code file} in windows, verifies the header and checksum, and hands every
+     * row to {@code sink} in file order. Any mismatch fails before the first row is emitted.
+     */
+    static Header read(Path file, Consumer<Row> sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                throw new IOException("Snapshot " + file + " is truncated");
+            }
+            ByteBuffer raw = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (raw.getInt() != MAGIC) {
+                throw new IOException(file + " is not a transaction snapshot");
+            }
+            int version = raw.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Snapshot " + file + " has format version " + version
+                        + "; this build reads version " + FORMAT_VERSION);
+            }
+            Header header = new Header(raw.getLong(), raw.getLong(), raw.getLong(), raw.getLong());
+            if (header.dictionaryOffset() < HEADER_BYTES || header.dictionaryOffset() > size) {
+                throw new IOException("Snapshot " + file + " is truncated");
+            }
+            if (checksum(channel, size) != header.checksum()) {
+                throw new IOException("Snapshot " + file + " failed its checksum");
+            }
+
+            MappedCursor dictionary = new MappedCursor(channel, header.dictionaryOffset(), size);
+            List<String> accounts = readDictionary(dictionary);
+            List<String> customers = readDictionary(dictionary);
+
+            MappedCursor rows = new MappedCursor(channel, HEADER_BYTES, header.dictionaryOffset());
+            for (long i = 0; i < header.rowCount(); i++) {
+                ByteBuffer in = rows.ensure(MAX_ROW_BYTES);
+                long id = in.getLong();
+                int account = in.getInt();
+                int customer = in.getInt();
+                long cents = in.getLong();
+                int day = in.getInt();
+                int seconds = in.getInt();
+                int rowVersion = in.getInt();
+                String description = readString(in);
+                Long lineHash = in.get() == 1 ? in.getLong() : null;
+                sink.accept(new Row(
+                        id,
+                        account < 0 ? null : accounts.get(account),
+                        cents == Long.MIN_VALUE ? null : BigDecimal.valueOf(cents, 2),
+                        description,
+                        day == Integer.MIN_VALUE ? null : LocalDate.ofEpochDay(day),
+                        seconds < 0 ? null : LocalTime.ofSecondOfDay(seconds),
+                        customer < 0 ? null : customers.get(customer),
+                        rowVersion,
+                        lineHash));
+            }
+            return header;
+        }
+    }
+
+    private static long checksum(FileChannel channel, long size) throws IOException {
+        CRC32 crc = new CRC32();
+        for (long from = HEADER_BYTES; from < size; from += MAP_WINDOW_BYTES) {
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(MAP_WINDOW_BYTES, size - from)));
+        }
+        return crc.getValue();
+    }
+
+    private static List<String> readDictionary(MappedCursor cursor) {
+        int count = cursor.ensure(4).getInt();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString(cursor.ensure(2 + NULL_STRING)));
+        }
+        return values;
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = Short.toUnsignedInt(in.getShort());
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Sequential reader over {@code [from, end)} that maps at most {@link #MAP_WINDOW_BYTES}
+     * at a time, so files beyond 2 GB can be read; a record never straddles two windows.
+     */
+    private static final class MappedCursor {
+
+        private final FileChannel channel;
+        private final long end;
+        private long windowStart;
+        private MappedByteBuffer window;
+
+        MappedCursor(FileChannel channel, long from, long end) throws IOException {
+            this.channel = channel;
+            this.end = end;
+            map(from);
+        }
+
+        ByteBuffer ensure(int bytes) {
+            long position = windowStart + window.position();
+            if (window.remaining() < Math.min(bytes, end - position)) {
+                try {
+                    map(position);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return window;
+        }
+
+        private void map(long from) throws IOException {
+            windowStart = from;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(MAP_WINDOW_BYTES, end - from));
+        }
+    }
+}
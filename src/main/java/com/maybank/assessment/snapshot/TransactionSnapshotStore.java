@@ -0,0 +1,289 @@
+package com.maybank.assessment.snapshot;
+
+import com.maybank.assessment.entity.TransactionRecordEntity;
+import com.maybank.assessment.event.TransactionDescriptionChangedEvent;
+import com.maybank.assessment.event.TransactionImportCompletedEvent;
+import com.maybank.assessment.event.TransactionsPurgedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps {@code transaction_records} in a binary snapshot file ({@link TransactionSnapshotFile})
+ * so an in-memory database survives restarts without re-parsing the source files, which have
+ * been moved to {@code processed/} by then.
+ *
+ * <p>The snapshot is rewritten in the background after every completed import, retention
+ * purge and description update; bursts of them collapse into one write, and a snapshot still
+ * stale at shutdown is written then. On start, before the in-memory indexes and rollups
+ * load existing rows, an empty table is bulk-loaded from the snapshot with JDBC batches and
+ * the id sequence is moved past the restored ids. Enabled with {@code snapshot.enabled=true}.
+ */
+@Component
+public class TransactionSnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionSnapshotStore.class);
+    private static final long SHUTDOWN_WAIT_SECONDS = 60;
+
+    private static final String SELECT_ALL =
+            "SELECT id, account_number, trx_amount, description, trx_date, trx_time, customer_id, version, line_hash"
+                    + " FROM transaction_records ORDER BY id";
+    private static final String INSERT =
+            "INSERT INTO transaction_records (id, account_number, trx_amount, description, trx_date, trx_time,"
+                    + " customer_id, version, line_hash) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("snapshot-writer").factory());
+    private final AtomicBoolean writeQueued = new AtomicBoolean();
+    private final AtomicBoolean stale = new AtomicBoolean();
+    private volatile boolean restored;
+
+    @Value("${snapshot.enabled:false}")
+    private boolean enabled;
+
+    @Value("${snapshot.path:./data/transactions.snap}")
+    private String path;
+
+    @Value("${snapshot.load-batch-size:5000}")
+    private int batchSize;
+
+    @Value("${snapshot.load-workers:0}")
+    private int loadWorkers;
+
+    public TransactionSnapshotStore(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(1000);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /** True when this start restored the table from the snapshot. */
+    public boolean isRestored() {
+        return restored;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void restore() {
+        Path file = Paths.get(path);
+        if (!enabled || Files.notExists(file)) {
+            return;
+        }
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM transaction_records)", Boolean.class))) {
+            log.info("transaction_records is not empty; snapshot {} not loaded", file);
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            TransactionSnapshotFile.Header header = load(file);
+            if (header.rowCount() > 0) {
+                restartSequence(header.maxId());
+                restored = true;
+            }
+            log.info("Restored {} rows from snapshot {} in {} ms",
+                    header.rowCount(), file, (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not restore snapshot {}; starting from an empty table", file, e);
+            jdbcTemplate.update("DELETE FROM transaction_records");
+        }
+    }
+
+    @EventListener
+    public void onImportCompleted(TransactionImportCompletedEvent event) {
+        if (enabled) {
+            stale.set(true);
+            scheduleWrite();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDescriptionChanged(TransactionDescriptionChangedEvent event) {
+        if (enabled) {
+            stale.set(true);
+            scheduleWrite();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPurged(TransactionsPurgedEvent event) {
+        if (enabled) {
+            stale.set(true);
+            scheduleWrite();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        writer.shutdown();
+        if (!writer.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("Snapshot write did not finish within {}s", SHUTDOWN_WAIT_SECONDS);
+            return;
+        }
+        if (enabled && stale.get()) {
+            writeIfStale();
+        }
+    }
+
+    /** Writes the whole table to the snapshot file; returns the number of rows written. */
+    public synchronized long write() throws IOException {
+        Path file = Paths.get(path);
+        long started = System.nanoTime();
+        try (TransactionSnapshotFile.Writer out = new TransactionSnapshotFile.Writer(file)) {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(SELECT_ALL, (RowCallbackHandler) rs -> {
+                try {
+                    out.add(new TransactionSnapshotFile.Row(
+                            rs.getLong(1),
+                            rs.getString(2),
+                            rs.getBigDecimal(3),
+                            rs.getString(4),
+                            rs.getObject(5, LocalDate.class),
+                            rs.getObject(6, LocalTime.class),
+                            rs.getString(7),
+                            rs.getInt(8),
+                            rs.getObject(9, Long.class)));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+            out.commit();
+            log.info("Wrote {} rows to snapshot {} in {} ms", out.rows(), file, (System.nanoTime() - started) / 1_000_000);
+            return out.rows();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void scheduleWrite() {
+        if (writeQueued.compareAndSet(false, true)) {
+            try {
+                writer.execute(() -> {
+                    writeQueued.set(false);
+                    writeIfStale();
+                });
+            } catch (RejectedExecutionException e) {
+                writeQueued.set(false);
+            }
+        }
+    }
+
+    private void writeIfStale() {
+        if (!stale.getAndSet(false)) {
+            return;
+        }
+        try {
+            write();
+        } catch (IOException | RuntimeException e) {
+            stale.set(true);
+            log.error("Could not write snapshot {}", path, e);
+        }
+    }
+
+    /**
+     * Decodes on the calling thread and inserts batches on {@code snapshot.load-workers}
+     * threads, each batch in its own transaction; at most two batches per worker are in flight.
+     */
+    private TransactionSnapshotFile.Header load(Path file) throws IOException {
+        int threads = loadWorkers > 0 ? loadWorkers : Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        Semaphore inFlight = new Semaphore(threads * 2);
+        List<Future<?>> inserts = new ArrayList<>();
+        var batch = new Object() {
+            List<TransactionSnapshotFile.Row> rows = new ArrayList<>(batchSize);
+        };
+        try {
+            TransactionSnapshotFile.Header header = TransactionSnapshotFile.read(file, row -> {
+                batch.rows.add(row);
+                if (batch.rows.size() >= batchSize) {
+                    inserts.add(submit(pool, inFlight, batch.rows));
+                    batch.rows = new ArrayList<>(batchSize);
+                }
+            });
+            if (!batch.rows.isEmpty()) {
+                inserts.add(submit(pool, inFlight, batch.rows));
+            }
+            for (Future<?> insert : inserts) {
+                insert.get();
+            }
+            return header;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while restoring the snapshot", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Snapshot batch insert failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Future<?> submit(ExecutorService pool, Semaphore inFlight, List<TransactionSnapshotFile.Row> rows) {
+        inFlight.acquireUninterruptibly();
+        return pool.submit(() -> {
+            try {
+                insert(rows);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private void insert(List<TransactionSnapshotFile.Row> rows) {
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT, rows, rows.size(), (ps, row) -> {
+                    ps.setLong(1, row.id());
+                    ps.setString(2, row.accountNumber());
+                    ps.setBigDecimal(3, row.trxAmount());
+                    ps.setString(4, row.description());
+                    ps.setDate(5, row.trxDate() == null ? null : Date.valueOf(row.trxDate()));
+                    ps.setTime(6, row.trxTime() == null ? null : Time.valueOf(row.trxTime()));
+                    ps.setString(7, row.customerId());
+                    ps.setInt(8, row.version());
+                    ps.setObject(9, row.lineHash(), Types.BIGINT);
+                }));
+    }
+
+    /**
+     * Hibernate's pooled optimizer hands out {@code (value - allocationSize, value]} for each
+     * sequence value, so the next value must be a full block past the highest restored id.
+     */
+    private void restartSequence(long maxId) {
+        jdbcTemplate.execute("ALTER SEQUENCE transaction_records_seq RESTART WITH "
+                + (maxId + TransactionRecordEntity.ID_ALLOCATION_SIZE));
+    }
+}
@@ -3,7 +3,7 @@ package com.maybank.assessment;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "snapshot.enabled=false")
 class AssessmentApplicationTests {
 
     @Test
@@ -0,0 +1,47 @@
+package com.maybank.assessment.aggregate;
+
+import com.maybank.assessment.dto.TransactionAggregateDTO;
+import com.maybank.assessment.entity.TransactionRecordEntity;
+import com.maybank.assessment.event.TransactionsImportedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionRollupStoreTest {
+
+    private static TransactionRecordEntity record(String account, String customer, String amount, LocalDate date) {
+        return TransactionRecordEntity.builder()
+                .accountNumber(account)
+                .customerId(customer)
+                .trxAmount(new BigDecimal(amount))
+                .trxDate(date)
+                .build();
+    }
+
+    @Test
+    void testChunksAreFoldedIntoAccountAndCustomerRollups() {
+        TransactionRollupStore store = new TransactionRollupStore();
+        store.onImported(new TransactionsImportedEvent(List.of(
+                record("111", "C1", "10.50", LocalDate.of(2019, 9, 12)),
+                record("222", "C1", "5.00", LocalDate.of(2019, 9, 1)))));
+        store.onImported(new TransactionsImportedEvent(List.of(
+                record("111", "C2", "1.25", LocalDate.of(2019, 8, 30)))));
+
+        TransactionAggregateDTO account = store.forAccount("111").orElseThrow();
+        assertEquals(new BigDecimal("11.75"), account.getTotalAmount());
+        assertEquals(2, account.getTransactionCount());
+        assertEquals(LocalDate.of(2019, 8, 30), account.getFirstTrxDate());
+        assertEquals(LocalDate.of(2019, 9, 12), account.getLastTrxDate());
+
+        TransactionAggregateDTO customer = store.forCustomer("C1").orElseThrow();
+        assertEquals(new BigDecimal("15.50"), customer.getTotalAmount());
+        assertEquals(2, customer.getTransactionCount());
+
+        assertTrue(store.forAccount("999").isEmpty());
+    }
+}
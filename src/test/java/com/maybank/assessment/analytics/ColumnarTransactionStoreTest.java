@@ -0,0 +1,121 @@
+package com.maybank.assessment.analytics;
+
+import com.maybank.assessment.dto.DailyTotalDTO;
+import com.maybank.assessment.dto.TransactionSearchCriteria;
+import com.maybank.assessment.dto.TransactionSummaryDTO;
+import com.maybank.assessment.entity.TransactionRecordEntity;
+import com.maybank.assessment.event.TransactionDescriptionChangedEvent;
+import com.maybank.assessment.event.TransactionsImportedEvent;
+import com.maybank.assessment.event.TransactionsPurgedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ColumnarTransactionStoreTest {
+
+    private static TransactionRecordEntity record(long id, String account, String customer, String amount,
+                                                  LocalDate date, String description) {
+        return TransactionRecordEntity.builder()
+                .id(id)
+                .accountNumber(account)
+                .customerId(customer)
+                .trxAmount(new BigDecimal(amount))
+                .trxDate(date)
+                .trxTime(LocalTime.of(10, 30))
+                .description(description)
+                .build();
+    }
+
+    private static ColumnarTransactionStore store() {
+        ColumnarTransactionStore store = new ColumnarTransactionStore();
+        store.onImported(new TransactionsImportedEvent(List.of(
+                record(1, "111", "C1", "10.50", LocalDate.of(2019, 9, 12), "FUND TRANSFER"),
+                record(2, "222", "C1", "5.00", LocalDate.of(2019, 9, 1), "ATM WITHDRAWAL"),
+                record(3, "111", "C2", "-1.25", LocalDate.of(2019, 9, 12), "Bill Payment"))));
+        return store;
+    }
+
+    @Test
+    void testSummaryAppliesTheSearchFilters() {
+        ColumnarTransactionStore store = store();
+
+        TransactionSummaryDTO account = store.summarize(TransactionSearchCriteria.builder().accountNumber("111").build());
+        assertEquals(2, account.getTransactionCount());
+        assertEquals(new BigDecimal("9.25"), account.getTotalAmount());
+        assertEquals(new BigDecimal("-1.25"), account.getMinAmount());
+        assertEquals(LocalDateTime.of(2019, 9, 12, 10, 30), account.getLastTransactionAt());
+
+        TransactionSummaryDTO ranged = store.summarize(TransactionSearchCriteria.builder()
+                .customerId("C1").fromDate(LocalDate.of(2019, 9, 2)).build());
+        assertEquals(1, ranged.getTransactionCount());
+
+        TransactionSummaryDTO unknown = store.summarize(TransactionSearchCriteria.builder().accountNumber("999").build());
+        assertEquals(0, unknown.getTransactionCount());
+        assertNull(unknown.getMinAmount());
+    }
+
+    @Test
+    void testDescriptionUpdatesAreVisibleToScans() {
+        ColumnarTransactionStore store = store();
+        TransactionSearchCriteria salary = TransactionSearchCriteria.builder().description("salary").build();
+        assertEquals(0, store.summarize(salary).getTransactionCount());
+
+        store.onDescriptionChanged(new TransactionDescriptionChangedEvent(2L, "222", "C1", null, "Monthly SALARY"));
+
+        assertEquals(1, store.summarize(salary).getTransactionCount());
+        List<DailyTotalDTO> daily = store.dailyTotals(TransactionSearchCriteria.builder().build());
+        assertEquals(LocalDate.of(2019, 9, 1), daily.get(0).getTrxDate());
+        assertEquals(2, daily.get(1).getTransactionCount());
+        assertEquals(new BigDecimal("9.25"), daily.get(1).getTotalAmount());
+    }
+
+    @Test
+    void testPurgedMonthIsRemovedFromScans() {
+        ColumnarTransactionStore store = store();
+        store.onImported(new TransactionsImportedEvent(List.of(
+                record(4, "111", "C1", "2.00", LocalDate.of(2019, 8, 31), "FUND TRANSFER"))));
+
+        store.onPurged(new TransactionsPurgedEvent(201909, 3));
+
+        assertEquals(1, store.size());
+        TransactionSummaryDTO account = store.summarize(TransactionSearchCriteria.builder().accountNumber("111").build());
+        assertEquals(1, account.getTransactionCount());
+        assertEquals(new BigDecimal("2.00"), account.getTotalAmount());
+    }
+
+    @Test
+    void testDescriptionUpdateFindsRowMovedByPurge() {
+        ColumnarTransactionStore store = store();
+        store.onImported(new TransactionsImportedEvent(List.of(
+                record(4, "111", "C1", "2.00", LocalDate.of(2019, 10, 1), "FUND TRANSFER"))));
+        store.onPurged(new TransactionsPurgedEvent(201909, 3));
+
+        store.onDescriptionChanged(new TransactionDescriptionChangedEvent(4L, "111", "C1", "FUND TRANSFER", "SALARY"));
+        store.onDescriptionChanged(new TransactionDescriptionChangedEvent(2L, "222", "C1", "ATM WITHDRAWAL", "SALARY"));
+
+        TransactionSummaryDTO salary = store.summarize(TransactionSearchCriteria.builder().description("salary").build());
+        assertEquals(1, salary.getTransactionCount());
+        assertEquals(new BigDecimal("2.00"), salary.getTotalAmount());
+    }
+
+    @Test
+    void testRowIndexKeepsEveryIdAcrossResizes() {
+        ColumnarTransactionStore.RowIndex index = new ColumnarTransactionStore.RowIndex();
+        for (int row = 0; row < 10_000; row++) {
+            index.put(1_000_000L + row * 7L, row);
+        }
+        index.put(1_000_007L, 42);
+
+        assertEquals(0, index.get(1_000_000L));
+        assertEquals(42, index.get(1_000_007L));
+        assertEquals(9_999, index.get(1_000_000L + 9_999 * 7L));
+        assertEquals(-1, index.get(1_000_001L));
+    }
+}
@@ -0,0 +1,88 @@
+package com.maybank.assessment.batch;
+
+import com.maybank.assessment.entity.TransactionRecordEntity;
+import com.maybank.assessment.repository.TransactionRecordRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DuplicateLineFilterTest {
+
+    @Mock
+    private TransactionRecordRepository repository;
+
+    private static TransactionRecordEntity line(long hash) {
+        return TransactionRecordEntity.builder().lineHash(hash).build();
+    }
+
+    private DuplicateLineFilter loadedFilter(long... existing) {
+        doAnswer(invocation -> {
+            LongConsumer consumer = invocation.getArgument(0);
+            for (long hash : existing) {
+                consumer.accept(hash);
+            }
+            return null;
+        }).when(repository).forEachLineHash(any());
+        DuplicateLineFilter filter = new DuplicateLineFilter(repository, new SimpleMeterRegistry(), 1000, 0.01);
+        filter.loadExisting();
+        return filter;
+    }
+
+    @Test
+    void testNewLinesSkipTheDatabaseCheck() {
+        DuplicateLineFilter filter = loadedFilter();
+
+        List<TransactionRecordEntity> kept = filter.retainNew(List.of(line(1), line(2), line(3)));
+
+        assertEquals(3, kept.size());
+        verify(repository, never()).findExistingLineHashes(anyCollection());
+    }
+
+    @Test
+    void testStoredAndRepeatedLinesAreDropped() {
+        DuplicateLineFilter filter = loadedFilter(42);
+        when(repository.findExistingLineHashes(anyCollection())).thenReturn(Set.of(42L));
+
+        List<TransactionRecordEntity> kept = filter.retainNew(List.of(line(42), line(7), line(7)));
+
+        assertEquals(1, kept.size());
+        assertEquals(7L, kept.get(0).getLineHash());
+        // 7 was kept and committed, so a later chunk carrying it again is sent to the database check
+        filter.retainNew(List.of(line(7)));
+        verify(repository).findExistingLineHashes(Set.of(7L));
+    }
+
+    @Test
+    void testBloomFilterNeverForgetsAnEntry() {
+        DuplicateLineFilter.BloomFilter bloom = new DuplicateLineFilter.BloomFilter(10_000, 0.01);
+        for (long i = 0; i < 10_000; i++) {
+            bloom.add(TransactionLineParser.lineHash(Long.toString(i).getBytes(), 0, Long.toString(i).length()));
+        }
+        int falsePositives = 0;
+        for (long i = 0; i < 10_000; i++) {
+            byte[] known = Long.toString(i).getBytes();
+            assertTrue(bloom.mightContain(TransactionLineParser.lineHash(known, 0, known.length)));
+            byte[] unknown = ("x" + i).getBytes();
+            if (bloom.mightContain(TransactionLineParser.lineHash(unknown, 0, unknown.length))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
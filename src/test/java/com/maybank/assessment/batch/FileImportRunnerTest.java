@@ -0,0 +1,48 @@
+package com.maybank.assessment.batch;
+
+import com.maybank.assessment.snapshot.TransactionSnapshotStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class FileImportRunnerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testFailedStartupImportMarksLivenessBroken() throws Exception {
+        Path file = Files.writeString(dir.resolve("dataSource.txt"), "ACCOUNT_NUMBER|TRX_AMOUNT\n");
+        TransactionFileImporter fileImporter = mock(TransactionFileImporter.class);
+        doThrow(new IOException("disk gone")).when(fileImporter).importAndArchive(any(Path.class));
+        ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+        ImportProgress progress = new ImportProgress(new SimpleMeterRegistry());
+        FileImportRunner runner = new FileImportRunner(mock(TransactionChunkWriter.class), fileImporter, progress,
+                mock(TransactionSnapshotStore.class), eventPublisher);
+        ReflectionTestUtils.setField(runner, "externalLocation", file.toString());
+        ReflectionTestUtils.setField(runner, "async", true);
+
+        runner.run();
+        runner.stop();
+
+        verify(eventPublisher).publishEvent(argThat((ApplicationEvent event) -> event instanceof AvailabilityChangeEvent<?> change
+                && change.getState() == LivenessState.BROKEN));
+        assertTrue(progress.isStartupImportPending());
+    }
+}
@@ -0,0 +1,59 @@
+package com.maybank.assessment.batch;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImportPipelineTest {
+
+    private final ImportProgress.Tracker tracker = new ImportProgress(new SimpleMeterRegistry()).begin("test", -1);
+
+    @Test
+    void testChunksCommitInSubmissionOrder() {
+        List<Integer> committed = new CopyOnWriteArrayList<>();
+        long rows;
+        try (ImportPipeline pipeline = new ImportPipeline("test-persist", 1, tracker)) {
+            for (int i = 0; i < 20; i++) {
+                int chunk = i;
+                pipeline.submit(() -> {
+                    committed.add(chunk);
+                    return 10;
+                });
+            }
+            rows = pipeline.finish();
+        }
+
+        assertEquals(200, rows);
+        assertEquals(20, committed.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, committed.get(i));
+        }
+    }
+
+    @Test
+    void testPersistFailureSkipsLaterChunksAndReachesTheParser() {
+        AtomicBoolean laterChunkRan = new AtomicBoolean();
+        try (ImportPipeline pipeline = new ImportPipeline("test-persist", 4, tracker)) {
+            pipeline.submit(() -> {
+                throw new IllegalStateException("disk full");
+            });
+            IllegalStateException error = assertThrows(IllegalStateException.class, () -> {
+                pipeline.submit(() -> {
+                    laterChunkRan.set(true);
+                    return 1;
+                });
+                pipeline.finish();
+            });
+            assertTrue(error.getMessage().contains("disk full"));
+        }
+        assertFalse(laterChunkRan.get());
+    }
+}
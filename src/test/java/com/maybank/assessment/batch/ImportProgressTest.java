@@ -0,0 +1,52 @@
+package com.maybank.assessment.batch;
+
+import com.maybank.assessment.config.ImportAwareApplicationAvailability;
+import com.maybank.assessment.dto.ImportProgressDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ImportProgressTest {
+
+    @Test
+    void testTrackerCountsRowsAndBytesIncludingResumedWork() {
+        ImportProgress progress = new ImportProgress(new SimpleMeterRegistry());
+        ImportProgress.Tracker tracker = progress.begin("big.txt", 1000);
+        tracker.resumed(10, 100);
+        tracker.parsed(20, 1_000_000);
+        tracker.committed(20, 200, 2_000_000);
+
+        ImportProgressDTO running = progress.snapshot().get(0);
+        assertEquals("RUNNING", running.getState());
+        assertEquals(30, running.getRowsParsed());
+        assertEquals(30, running.getRowsCommitted());
+        assertEquals(30.0, running.getPercent());
+        assertNotNull(running.getEtaSeconds());
+
+        tracker.complete();
+        List<ImportProgressDTO> finished = progress.snapshot();
+        assertEquals(1, finished.size());
+        assertEquals("COMPLETED", finished.get(0).getState());
+        assertNull(finished.get(0).getEtaSeconds());
+    }
+
+    @Test
+    void testReadinessRefusesTrafficWhileStartupImportIsPending() {
+        ImportProgress progress = new ImportProgress(new SimpleMeterRegistry());
+        ImportAwareApplicationAvailability availability = new ImportAwareApplicationAvailability(progress);
+        availability.onApplicationEvent(new AvailabilityChangeEvent<>(this, ReadinessState.ACCEPTING_TRAFFIC));
+
+        progress.setStartupImportPending(true);
+        assertEquals(ReadinessState.REFUSING_TRAFFIC, availability.getReadinessState());
+
+        progress.setStartupImportPending(false);
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, availability.getReadinessState());
+    }
+}
@@ -0,0 +1,91 @@
+package com.maybank.assessment.batch;
+
+import com.maybank.assessment.entity.ImportCheckpointEntity;
+import com.maybank.assessment.entity.TransactionRecordEntity;
+import com.maybank.assessment.repository.ImportCheckpointRepository;
+import com.maybank.assessment.repository.ImportedFileRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InboxWatcherTest {
+
+    @TempDir
+    Path inbox;
+
+    @Test
+    void testFailedImportIsRetriedFromItsCommittedOffset() throws Exception {
+        StringBuilder content = new StringBuilder("ACCOUNT_NUMBER|TRX_AMOUNT|DESCRIPTION|TRX_DATE|TRX_TIME|CUSTOMER_ID\n");
+        for (int i = 1; i <= 5; i++) {
+            content.append("8872838283|").append(i).append(".00|FUND TRANSFER|2019-09-12|11:11:11|222\n");
+        }
+        Path file = Files.writeString(inbox.resolve("dataSource.txt"), content);
+
+        // checkpoints live in this list the way the repository would keep them between attempts
+        List<ImportCheckpointEntity> stored = new ArrayList<>();
+        ImportCheckpointRepository checkpoints = mock(ImportCheckpointRepository.class);
+        when(checkpoints.findByFileKeyOrderByRangeStart(anyString())).thenAnswer(invocation -> List.copyOf(stored));
+        when(checkpoints.saveAll(anyList())).thenAnswer(invocation -> {
+            List<ImportCheckpointEntity> saved = invocation.getArgument(0);
+            saved.forEach(checkpoint -> checkpoint.setId((long) stored.size() + 1));
+            stored.addAll(saved);
+            return saved;
+        });
+
+        List<String> written = new ArrayList<>();
+        boolean[] failNext = {false};
+        TransactionChunkWriter chunkWriter = mock(TransactionChunkWriter.class);
+        when(chunkWriter.write(anyList(), anyLong(), anyLong())).thenAnswer(invocation -> {
+            List<TransactionRecordEntity> chunk = invocation.getArgument(0);
+            if (failNext[0]) {
+                failNext[0] = false;
+                throw new IllegalStateException("database unavailable");
+            }
+            failNext[0] = written.isEmpty();
+            ImportCheckpointEntity checkpoint = stored.get(0);
+            checkpoint.setCommittedOffset(invocation.getArgument(2));
+            checkpoint.setRowsCommitted(checkpoint.getRowsCommitted() + chunk.size());
+            chunk.forEach(record -> written.add(record.getTrxAmount().toPlainString()));
+            return chunk.size();
+        });
+
+        TransactionFileImporter importer = new TransactionFileImporter(chunkWriter, checkpoints,
+                new ImportProgress(new SimpleMeterRegistry()), mock(ApplicationEventPublisher.class),
+                mock(ImportedFileRepository.class));
+        ReflectionTestUtils.setField(importer, "chunkSize", 2);
+        ReflectionTestUtils.setField(importer, "queueCapacity", 1);
+        ReflectionTestUtils.setField(importer, "parallelMinBytes", Long.MAX_VALUE);
+        InboxWatcher watcher = new InboxWatcher(importer);
+        ReflectionTestUtils.setField(watcher, "running", true);
+        ReflectionTestUtils.setField(watcher, "maxRetryMillis", 60_000L);
+
+        watcher.offer(file);
+        watcher.importSettledFiles();
+        watcher.importSettledFiles();
+
+        assertTrue(Files.exists(file));
+        assertEquals(List.of("1.00", "2.00"), written);
+
+        watcher.importSettledFiles();
+
+        assertFalse(Files.exists(file));
+        assertTrue(Files.exists(inbox.resolve("processed/dataSource.txt")));
+        assertEquals(List.of("1.00", "2.00", "3.00", "4.00", "5.00"), written);
+    }
+}
@@ -0,0 +1,39 @@
+package com.maybank.assessment.batch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class RejectedLineWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRejectedLinesAreAppendedBesideTheArchivedFile() throws Exception {
+        Path source = tempDir.resolve("inbox").resolve("dataSource.txt");
+        byte[] line = "8872838283|12x.00|FUND TRANSFER|2019-09-12|11:11:11|222".getBytes(StandardCharsets.UTF_8);
+
+        try (RejectedLineWriter rejects = RejectedLineWriter.forSource(source)) {
+            assertFalse(Files.exists(rejects.target()));
+            rejects.reject(new MalformedLineException(7, 2, "not a decimal"), line, 0, line.length);
+        }
+        try (RejectedLineWriter rejects = RejectedLineWriter.forSource(source)) {
+            rejects.reject(new MalformedLineException(9, 0, "expected 6 columns but found 1"), line, 0, 10);
+            assertEquals(1, rejects.rejected());
+        }
+
+        Path target = tempDir.resolve("inbox").resolve("processed").resolve("dataSource.txt.rejected");
+        assertEquals(List.of(
+                "LINE\tCOLUMN\tREASON\tRAW",
+                "7\tTRX_AMOUNT\tnot a decimal\t8872838283|12x.00|FUND TRANSFER|2019-09-12|11:11:11|222",
+                "9\tLINE\texpected 6 columns but found 1\t8872838283"), Files.readAllLines(target));
+    }
+}
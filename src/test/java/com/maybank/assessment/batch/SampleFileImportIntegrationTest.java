@@ -0,0 +1,55 @@
+package com.maybank.assessment.batch;
+
+import com.maybank.assessment.repository.TransactionRecordRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Imports the shipped sample file, which repeats three of its lines, on its own in-memory H2 database. */
+@SpringBootTest(properties = {
+        "snapshot.enabled=false",
+        "file.import.async=false",
+        "spring.datasource.url=jdbc:h2:mem:sample-import"
+})
+class SampleFileImportIntegrationTest {
+
+    private static final Path SAMPLE = Path.of("processed", "dataSource.txt");
+    private static Path inbox;
+
+    @DynamicPropertySource
+    static void importSample(DynamicPropertyRegistry registry) throws IOException {
+        inbox = Files.createTempDirectory("sample-import");
+        Path file = Files.copy(SAMPLE, inbox.resolve("dataSource.txt"));
+        registry.add("file.import.location", file::toString);
+    }
+
+    @Autowired
+    private TransactionRecordRepository repository;
+
+    @Autowired
+    private TransactionFileImporter importer;
+
+    @Test
+    void testRepeatedLinesOfOneFileAreSeparateTransactionsButReimportsAreDropped() throws IOException {
+        assertEquals(47, repository.count());
+
+        // the same lines plus one new line, parsed in parallel ranges this time
+        Path again = Files.writeString(inbox.resolve("dataSource-again.txt"), Files.readString(SAMPLE).stripTrailing()
+                + "\n8872838283|1.00|NEW LINE|2019-10-01|10:00:00|222\n");
+        ReflectionTestUtils.setField(importer, "parallelMinBytes", 0L);
+        ReflectionTestUtils.setField(importer, "workers", 3);
+
+        importer.importAndArchive(again);
+
+        assertEquals(48, repository.count());
+    }
+}
@@ -0,0 +1,132 @@
+package com.maybank.assessment.batch;
+
+import com.maybank.assessment.entity.ImportCheckpointEntity;
+import com.maybank.assessment.entity.TransactionRecordEntity;
+import com.maybank.assessment.repository.ImportCheckpointRepository;
+import com.maybank.assessment.repository.ImportedFileRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TransactionFileImporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testContentHashIgnoresTheFileName() throws Exception {
+        String content = "ACCOUNT_NUMBER|TRX_AMOUNT|DESCRIPTION|TRX_DATE|TRX_TIME|CUSTOMER_ID\n"
+                + "8872838283|1.00|FUND TRANSFER|2019-09-12|11:11:11|222\n";
+        Path first = Files.writeString(tempDir.resolve("a.txt"), content);
+        Path copy = Files.writeString(tempDir.resolve("b.txt"), content);
+        Path changed = Files.writeString(tempDir.resolve("c.txt"), content.replace("1.00", "2.00"));
+
+        assertEquals(TransactionFileImporter.contentHash(first), TransactionFileImporter.contentHash(copy));
+        assertNotEquals(TransactionFileImporter.contentHash(first), TransactionFileImporter.contentHash(changed));
+    }
+
+    @Test
+    void testSplitProducesNewlineAlignedRangesCoveringBody() throws Exception {
+        StringBuilder content = new StringBuilder("ACCOUNT_NUMBER|TRX_AMOUNT|DESCRIPTION|TRX_DATE|TRX_TIME|CUSTOMER_ID\r\n");
+        for (int i = 0; i < 100; i++) {
+            content.append("8872838283|").append(i).append(".00|FUND TRANSFER|2019-09-12|11:11:11|222\r\n");
+        }
+        Path file = Files.writeString(tempDir.resolve("dataSource.txt"), content);
+        byte[] bytes = content.toString().getBytes(StandardCharsets.UTF_8);
+        int headerEnd = content.indexOf("\n") + 1;
+
+        List<long[]> ranges;
+        try (FileChannel channel = FileChannel.open(file)) {
+            ranges = TransactionFileImporter.split(channel, 3);
+        }
+
+        assertEquals(3, ranges.size());
+        assertEquals(headerEnd, ranges.get(0)[0]);
+        assertEquals(bytes.length, ranges.get(ranges.size() - 1)[1]);
+        for (int i = 1; i < ranges.size(); i++) {
+            assertEquals(ranges.get(i - 1)[1], ranges.get(i)[0]);
+            assertEquals('\n', bytes[(int) ranges.get(i)[0] - 1]);
+        }
+    }
+
+    @Test
+    void testGzipIsDetectedByExtensionOrMagicBytes() throws Exception {
+        Path plain = Files.writeString(tempDir.resolve("plain.txt"), "ACCOUNT_NUMBER\n");
+        Path named = gzip(tempDir.resolve("feed.txt.gz"), "ACCOUNT_NUMBER\n");
+        Path unnamed = gzip(tempDir.resolve("feed"), "ACCOUNT_NUMBER\n");
+
+        assertFalse(TransactionFileImporter.isGzip(plain));
+        assertTrue(TransactionFileImporter.isGzip(named));
+        assertTrue(TransactionFileImporter.isGzip(unnamed));
+    }
+
+    @Test
+    void testGzipImportStreamsFromCommittedOffsetAndRejectsWithAbsoluteLineNumbers() throws Exception {
+        String header = "ACCOUNT_NUMBER|TRX_AMOUNT|DESCRIPTION|TRX_DATE|TRX_TIME|CUSTOMER_ID\n";
+        String committed = "8872838283|1.00|FUND TRANSFER|2019-09-12|11:11:11|222\n";
+        Path file = gzip(tempDir.resolve("dataSource.txt.gz"), header + committed
+                + "8872838283|2.00|FUND TRANSFER|2019-09-12|11:11:11|222\n"
+                + "not a transaction\n"
+                + "8872838283|3.00|FUND TRANSFER|2019-09-12|11:11:11|222\n"
+                + "8872838283|4.00|FUND TRANSFER|2019-09-12|11:11:11|222\n");
+
+        TransactionChunkWriter chunkWriter = mock(TransactionChunkWriter.class);
+        ImportCheckpointRepository checkpoints = mock(ImportCheckpointRepository.class);
+        TransactionFileImporter importer = new TransactionFileImporter(chunkWriter, checkpoints,
+                new ImportProgress(new SimpleMeterRegistry()), mock(ApplicationEventPublisher.class),
+                mock(ImportedFileRepository.class));
+        ReflectionTestUtils.setField(importer, "chunkSize", 2);
+        ReflectionTestUtils.setField(importer, "queueCapacity", 1);
+        when(checkpoints.findByFileKeyOrderByRangeStart(anyString())).thenReturn(List.of(ImportCheckpointEntity.builder()
+                .id(7L)
+                .rangeStart(0)
+                .rangeEnd(Long.MAX_VALUE)
+                .committedOffset(header.length() + committed.length())
+                .rowsCommitted(1)
+                .build()));
+        when(chunkWriter.write(anyList(), eq(7L), anyLong()))
+                .thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+
+        assertEquals(4, importer.importFile(file));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TransactionRecordEntity>> chunks = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<Long> offsets = ArgumentCaptor.forClass(Long.class);
+        verify(chunkWriter, times(2)).write(chunks.capture(), eq(7L), offsets.capture());
+        assertEquals("2.00", chunks.getAllValues().get(0).get(0).getTrxAmount().toPlainString());
+        assertEquals(Long.MAX_VALUE, offsets.getAllValues().get(1));
+        String rejected = Files.readString(tempDir.resolve("processed/dataSource.txt.gz.rejected"));
+        assertTrue(rejected.lines().skip(1).findFirst().orElseThrow().startsWith("4\t"));
+    }
+
+    private static Path gzip(Path target, String content) throws Exception {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(target))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return target;
+    }
+}
@@ -0,0 +1,111 @@
+package com.maybank.assessment.batch;
+
+import com.maybank.assessment.entity.TransactionRecordEntity;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionLineParserTest {
+
+    private final TransactionLineParser parser = new TransactionLineParser();
+
+    private TransactionRecordEntity parse(String line, long lineNumber) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        return parser.parse(bytes, 0, bytes.length, lineNumber);
+    }
+
+    @Test
+    void testParseValidLine() {
+        TransactionRecordEntity record = parse("8872838283|1123.5|ATM WITHDRWAL|2019-09-11|11:11:11|222", 2);
+
+        assertEquals("8872838283", record.getAccountNumber());
+        assertEquals(new BigDecimal("1123.50"), record.getTrxAmount());
+        assertEquals("ATM WITHDRWAL", record.getDescription());
+        assertEquals(LocalDate.of(2019, 9, 11), record.getTrxDate());
+        assertEquals(LocalTime.of(11, 11, 11), record.getTrxTime());
+        assertEquals("222", record.getCustomerId());
+    }
+
+    @Test
+    void testLineHashIdentifiesTheWholeLine() {
+        long hash = parse("8872838283|1.00|A|2019-09-11|11:11:11|222", 2).getLineHash();
+
+        assertEquals(hash, parse("8872838283|1.00|A|2019-09-11|11:11:11|222", 9).getLineHash());
+        assertNotEquals(hash, parse("8872838283|1.00|A|2019-09-11|11:11:12|222", 2).getLineHash());
+    }
+
+    @Test
+    void testOccurrencesOfOneLineHaveDistinctKeys() throws Exception {
+        String line = "6872838260|12993.00|FUND TRANSFER|2019-09-11|11:11:11|333";
+        byte[] bytes = ("HEADER\n" + line + "\n" + line + "\r\nOTHER\n" + line + "\n").getBytes(StandardCharsets.UTF_8);
+        LineOccurrences occurrences = LineOccurrences.scan(
+                LineOccurrences.ofStream(() -> new ByteArrayInputStream(bytes), 16), 100);
+        int second = 7 + line.length() + 1;
+        int third = second + line.length() + 2 + 6;
+
+        assertEquals(0, occurrences.at(7));
+        assertEquals(1, occurrences.at(second));
+        assertEquals(2, occurrences.at(third));
+        long first = parse(line, 2).getLineHash();
+        byte[] lineBytes = line.getBytes(StandardCharsets.UTF_8);
+        assertNotEquals(first, parser.parse(lineBytes, 0, lineBytes.length, 3, 1).getLineHash());
+        assertNotEquals(parser.parse(lineBytes, 0, lineBytes.length, 3, 1).getLineHash(),
+                parser.parse(lineBytes, 0, lineBytes.length, 5, 2).getLineHash());
+    }
+
+    @Test
+    void testRepeatedIdsAreInterned() {
+        TransactionRecordEntity first = parse("8872838283|1.00|A|2019-09-11|11:11:11|222", 2);
+        TransactionRecordEntity second = parse("8872838283|2.00|B|2019-09-12|11:11:11|222", 3);
+
+        assertSame(first.getAccountNumber(), second.getAccountNumber());
+        assertSame(first.getCustomerId(), second.getCustomerId());
+    }
+
+    @Test
+    void testMalformedAmountReportsLineAndColumn() {
+        MalformedLineException ex = assertThrows(MalformedLineException.class,
+                () -> parse("8872838283|12a.00|FUND TRANSFER|2019-09-12|11:11:11|222", 7));
+
+        assertEquals(7, ex.getLineNumber());
+        assertEquals(2, ex.getColumn());
+        assertEquals("TRX_AMOUNT", ex.getColumnName());
+    }
+
+    @Test
+    void testInvalidCalendarDateIsRejected() {
+        MalformedLineException ex = assertThrows(MalformedLineException.class,
+                () -> parse("8872838283|1.00|FUND TRANSFER|2019-02-30|11:11:11|222", 3));
+
+        assertEquals(4, ex.getColumn());
+    }
+
+    @Test
+    void testMissingColumnIsRejected() {
+        MalformedLineException ex = assertThrows(MalformedLineException.class,
+                () -> parse("8872838283|1.00|FUND TRANSFER|2019-02-01|11:11:11", 4));
+
+        assertEquals(4, ex.getLineNumber());
+        assertEquals(0, ex.getColumn());
+    }
+
+    @Test
+    void testLineReaderStripsCrLfAndCountsLines() throws Exception {
+        byte[] data = "HEADER\r\nfirst\r\nsecond".getBytes(StandardCharsets.UTF_8);
+        LineReader reader = new LineReader(new ByteArrayInputStream(data), 4);
+
+        assertTrue(reader.next());
+        assertTrue(reader.next());
+        assertEquals("first", new String(reader.buffer(), reader.lineStart(), reader.lineLength(), StandardCharsets.UTF_8));
+        assertTrue(reader.next());
+        assertEquals("second", new String(reader.buffer(), reader.lineStart(), reader.lineLength(), StandardCharsets.UTF_8));
+        assertEquals(3, reader.lineNumber());
+        assertFalse(reader.next());
+    }
+}
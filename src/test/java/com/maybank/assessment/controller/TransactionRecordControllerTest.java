@@ -1,14 +1,22 @@
 package com.maybank.assessment.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maybank.assessment.dto.BulkUpdateResultDTO;
+import com.maybank.assessment.dto.CursorPage;
+import com.maybank.assessment.dto.ExportFormat;
+import com.maybank.assessment.dto.SearchTotalDTO;
 import com.maybank.assessment.dto.TransactionRecordDTO;
+import com.maybank.assessment.dto.TransactionSearchCriteria;
 import com.maybank.assessment.dto.UpdateDescriptionRequest;
 import com.maybank.assessment.exception.GlobalExceptionHandler;
+import com.maybank.assessment.exception.PreconditionFailedException;
 import com.maybank.assessment.exception.ResourceNotFoundException;
+import com.maybank.assessment.service.TransactionExportService;
 import com.maybank.assessment.service.TransactionRecordService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -18,14 +26,22 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
 
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -37,6 +53,9 @@ class TransactionRecordControllerTest {
     @Mock
     private TransactionRecordService service;
 
+    @Mock
+    private TransactionExportService exportService;
+
     @InjectMocks
     private TransactionRecordController controller;
 
@@ -65,7 +84,7 @@ class TransactionRecordControllerTest {
                 .build();
 
         Page<TransactionRecordDTO> page = new PageImpl<>(List.of(dto));
-        when(service.search(any(), any(), any(), any(Pageable.class))).thenReturn(page);
+        when(service.search(any(TransactionSearchCriteria.class), any(Pageable.class))).thenReturn(page);
 
         mockMvc.perform(get("/api/transactions")
                         .param("description", "transfer")
@@ -73,7 +92,106 @@ class TransactionRecordControllerTest {
                         .param("size", "10"))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.content[0].description").value("FUND TRANSFER"));
+                .andExpect(jsonPath("$.content[0].description").value("FUND TRANSFER"))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.total").doesNotExist());
+        verify(service, never()).countTotal(any());
+    }
+
+    @Test
+    void testSearchIncludesTotalWhenRequested() throws Exception {
+        when(service.search(any(TransactionSearchCriteria.class), any(Pageable.class))).thenReturn(Page.empty());
+        when(service.countTotal(any(TransactionSearchCriteria.class)))
+                .thenReturn(SearchTotalDTO.builder().count(1234).exact(false).build());
+
+        mockMvc.perform(get("/api/transactions")
+                        .param("description", "transfer")
+                        .param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1234))
+                .andExpect(jsonPath("$.totalExact").value(false));
+    }
+
+    @Test
+    void testSearchMapsCustomerAndDateFilters() throws Exception {
+        when(service.search(any(TransactionSearchCriteria.class), any(Pageable.class))).thenReturn(Page.empty());
+
+        mockMvc.perform(get("/api/transactions")
+                        .param("customerId", "222")
+                        .param("trxDate", "2019-09-12")
+                        .param("fromDate", "2019-09-01")
+                        .param("toDate", "2019-09-30"))
+                .andExpect(status().isOk());
+
+        ArgumentCaptor<TransactionSearchCriteria> captor = ArgumentCaptor.forClass(TransactionSearchCriteria.class);
+        verify(service).search(captor.capture(), any(Pageable.class));
+        assertEquals("222", captor.getValue().getCustomerId());
+        assertEquals(LocalDate.of(2019, 9, 12), captor.getValue().getTrxDate());
+        assertEquals(LocalDate.of(2019, 9, 1), captor.getValue().getFromDate());
+        assertEquals(LocalDate.of(2019, 9, 30), captor.getValue().getToDate());
+    }
+
+    @Test
+    void testSearchRejectsMalformedDate() throws Exception {
+        mockMvc.perform(get("/api/transactions").param("trxDate", "12/09/2019"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid value for parameter 'trxDate'"));
+    }
+
+    @Test
+    void testSearchWithCursorReturnsNextCursor() throws Exception {
+        TransactionRecordDTO dto = TransactionRecordDTO.builder()
+                .id(1L)
+                .accountNumber("12345")
+                .trxAmount(new BigDecimal("100.00"))
+                .description("FUND TRANSFER")
+                .trxDate(LocalDate.of(2023, 1, 1))
+                .trxTime(LocalTime.of(12, 0))
+                .customerId("222")
+                .build();
+
+        CursorPage<TransactionRecordDTO> page = CursorPage.<TransactionRecordDTO>builder()
+                .content(List.of(dto))
+                .hasNext(true)
+                .nextCursor("next-token")
+                .build();
+        when(service.searchAfter(any(TransactionSearchCriteria.class), eq(""), eq(1))).thenReturn(page);
+
+        mockMvc.perform(get("/api/transactions")
+                        .param("accountNumber", "12345")
+                        .param("after", "")
+                        .param("size", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"));
+    }
+
+    @Test
+    void testExportStreamsRequestedFormat() throws Exception {
+        doAnswer(inv -> {
+            OutputStream out = inv.getArgument(2);
+            out.write("ACCOUNT_NUMBER|TRX_AMOUNT|DESCRIPTION|TRX_DATE|TRX_TIME|CUSTOMER_ID\r\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportService).export(any(TransactionSearchCriteria.class), eq(ExportFormat.CSV), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/transactions/export")
+                        .param("customerId", "222")
+                        .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(content().string(startsWith("ACCOUNT_NUMBER|TRX_AMOUNT")));
+    }
+
+    @Test
+    void testExportRejectsUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/transactions/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unsupported export format: xml"));
     }
 
     @Test
@@ -156,4 +274,56 @@ class TransactionRecordControllerTest {
                 .andExpect(jsonPath("$.message").value("Validation failed"))
                 .andExpect(jsonPath("$.path").value("/api/transactions/1"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testBulkUpdateReturnsPerItemResults() throws Exception {
+        when(service.updateDescriptions(any())).thenReturn(List.of(
+                BulkUpdateResultDTO.builder().id(1L).outcome(BulkUpdateResultDTO.Outcome.OK).version(1).build(),
+                BulkUpdateResultDTO.builder().id(2L).outcome(BulkUpdateResultDTO.Outcome.CONFLICT).version(3).build()));
+
+        mockMvc.perform(put("/api/transactions/descriptions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"updates\":[{\"id\":1,\"expectedVersion\":0,\"description\":\"A\"},"
+                                + "{\"id\":2,\"expectedVersion\":0,\"description\":\"B\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].outcome").value("OK"))
+                .andExpect(jsonPath("$[1].outcome").value("CONFLICT"))
+                .andExpect(jsonPath("$[1].version").value(3));
+    }
+
+    @Test
+    void testGetReturnsNotModifiedForMatchingETag() throws Exception {
+        when(service.findById(1L)).thenReturn(TransactionRecordDTO.builder().id(1L).version(3).build());
+
+        mockMvc.perform(get("/api/transactions/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+
+        mockMvc.perform(get("/api/transactions/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testUpdateWithIfMatchUsesConditionalUpdate() throws Exception {
+        UpdateDescriptionRequest request = new UpdateDescriptionRequest();
+        request.setDescription("Updated");
+        when(service.updateDescription(eq(1L), any(), eq(3)))
+                .thenReturn(TransactionRecordDTO.builder().id(1L).description("Updated").version(4).build());
+        when(service.updateDescription(eq(2L), any(), eq(3)))
+                .thenThrow(new PreconditionFailedException("Transaction with ID 2 is no longer at version 3"));
+
+        mockMvc.perform(put("/api/transactions/1")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+
+        mockMvc.perform(put("/api/transactions/2")
+                        .header("If-Match", "W/\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+    }
+}
@@ -0,0 +1,79 @@
+package com.maybank.assessment.index;
+
+import com.maybank.assessment.entity.TransactionRecordEntity;
+import com.maybank.assessment.event.TransactionDescriptionChangedEvent;
+import com.maybank.assessment.event.TransactionsImportedEvent;
+import com.maybank.assessment.event.TransactionsPurgedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DescriptionTrigramIndexTest {
+
+    private DescriptionTrigramIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new DescriptionTrigramIndex();
+        ReflectionTestUtils.setField(index, "ready", true);
+        ReflectionTestUtils.setField(index, "maxCandidates", 100);
+        index.onImported(new TransactionsImportedEvent(List.of(
+                record(3L, "FUND TRANSFER"),
+                record(1L, "ATM WITHDRWAL"),
+                record(2L, "3rd Party FUND TRANSFER"))));
+    }
+
+    private static TransactionRecordEntity record(Long id, String description) {
+        return TransactionRecordEntity.builder().id(id).description(description).build();
+    }
+
+    @Test
+    void testCandidatesIntersectTrigramPostings() {
+        assertArrayEquals(new long[]{2L, 3L}, index.candidates("transfer"));
+        assertArrayEquals(new long[]{2L}, index.candidates("party fund"));
+        assertArrayEquals(new long[0], index.candidates("bill"));
+    }
+
+    @Test
+    void testShortTermCannotBeNarrowed() {
+        assertNull(index.candidates("tm"));
+    }
+
+    @Test
+    void testLikeWildcardsInTermAreLiteral() {
+        index.onImported(new TransactionsImportedEvent(List.of(
+                record(4L, "ABC PAYMENT"),
+                record(5L, "A_C PAYMENT"))));
+
+        assertArrayEquals(new long[]{5L}, index.candidates("a_c"));
+        assertArrayEquals(new long[0], index.candidates("50%"));
+    }
+
+    @Test
+    void testPurgedMonthLeavesPostings() {
+        index.onImported(new TransactionsImportedEvent(List.of(
+                TransactionRecordEntity.builder().id(7L).description("SALARY CREDIT").trxDate(LocalDate.of(2019, 8, 31)).build(),
+                TransactionRecordEntity.builder().id(8L).description("SALARY CREDIT").trxDate(LocalDate.of(2019, 9, 1)).build(),
+                TransactionRecordEntity.builder().id(9L).description("BONUS CREDIT").trxDate(LocalDate.of(2019, 8, 1)).build())));
+
+        index.onPurged(new TransactionsPurgedEvent(201908, 2));
+
+        assertArrayEquals(new long[]{8L}, index.candidates("salary"));
+        assertArrayEquals(new long[0], index.candidates("bonus"));
+        assertArrayEquals(new long[]{2L, 3L}, index.candidates("transfer"));
+    }
+
+    @Test
+    void testDescriptionChangeMovesPostings() {
+        index.onDescriptionChanged(new TransactionDescriptionChangedEvent(1L, "123", "222", "ATM WITHDRWAL", "BILL PAYMENT"));
+
+        assertArrayEquals(new long[0], index.candidates("withdrwal"));
+        assertArrayEquals(new long[]{1L}, index.candidates("bill"));
+    }
+}
@@ -0,0 +1,42 @@
+package com.maybank.assessment.partition;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionRetentionJobTest {
+
+    @Mock
+    private TransactionPartitionManager partitions;
+
+    @InjectMocks
+    private PartitionRetentionJob job;
+
+    @Test
+    void testDropsWholeMonthsOlderThanTheRetainedOnes() {
+        ReflectionTestUtils.setField(job, "months", 3);
+        when(partitions.partitionsBefore(LocalDate.of(2019, 8, 1))).thenReturn(List.of(
+                new TransactionPartitionManager.MonthPartition(201906, 40),
+                new TransactionPartitionManager.MonthPartition(201907, 2)));
+        when(partitions.drop(201906)).thenReturn(40L);
+        when(partitions.drop(201907)).thenReturn(2L);
+
+        assertEquals(42, job.purge(LocalDate.of(2019, 10, 15)));
+
+        verify(partitions).drop(201906);
+        verify(partitions).drop(201907);
+        verifyNoMoreInteractions(partitions);
+    }
+}
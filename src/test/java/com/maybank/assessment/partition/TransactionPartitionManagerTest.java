@@ -0,0 +1,48 @@
+package com.maybank.assessment.partition;
+
+import com.maybank.assessment.entity.TransactionRecordEntity;
+import com.maybank.assessment.repository.TransactionRecordRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Import(TransactionPartitionManager.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransactionPartitionManagerTest {
+
+    @Autowired
+    private TransactionPartitionManager partitions;
+
+    @Autowired
+    private TransactionRecordRepository repository;
+
+    private static TransactionRecordEntity record(LocalDate date) {
+        return TransactionRecordEntity.builder().accountNumber("8872838283").trxDate(date).build();
+    }
+
+    @Test
+    void testListsAndDropsWholeMonthsByDateRange() {
+        repository.saveAll(List.of(
+                record(LocalDate.of(2019, 6, 1)),
+                record(LocalDate.of(2019, 6, 30)),
+                record(LocalDate.of(2019, 7, 15)),
+                record(LocalDate.of(2019, 8, 1))));
+
+        assertEquals(List.of(new TransactionPartitionManager.MonthPartition(201906, 2),
+                        new TransactionPartitionManager.MonthPartition(201907, 1)),
+                partitions.partitionsBefore(LocalDate.of(2019, 8, 1)));
+
+        assertEquals(2, partitions.drop(201906));
+        assertEquals(2, repository.count());
+        repository.deleteAll();
+    }
+}
@@ -0,0 +1,40 @@
+package com.maybank.assessment.replica;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadRoutingDataSourceTest {
+
+    private final AtomicBoolean replicaServing = new AtomicBoolean(true);
+    private final ReadRoutingDataSource routing = new ReadRoutingDataSource(
+            new SimpleDriverDataSource(), new SimpleDriverDataSource(), replicaServing::get);
+
+    @AfterEach
+    void clearTransaction() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void testOnlyPreferredReadOnlyWorkGoesToTheReplica() {
+        assertEquals(ReadRoutingDataSource.Route.PRIMARY, routing.determineCurrentLookupKey());
+        assertEquals(ReadRoutingDataSource.Route.PRIMARY, ReadReplica.prefer(routing::determineCurrentLookupKey));
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(ReadRoutingDataSource.Route.PRIMARY, routing.determineCurrentLookupKey());
+        assertEquals(ReadRoutingDataSource.Route.REPLICA, ReadReplica.prefer(routing::determineCurrentLookupKey));
+    }
+
+    @Test
+    void testLaggingReplicaFallsBackToThePrimary() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        replicaServing.set(false);
+
+        assertEquals(ReadRoutingDataSource.Route.PRIMARY, ReadReplica.prefer(routing::determineCurrentLookupKey));
+    }
+}
@@ -0,0 +1,95 @@
+package com.maybank.assessment.replica;
+
+import com.maybank.assessment.dto.TransactionRecordDTO;
+import com.maybank.assessment.dto.TransactionSearchCriteria;
+import com.maybank.assessment.dto.UpdateDescriptionRequest;
+import com.maybank.assessment.service.TransactionRecordService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Runs the replica stand-in end to end on two in-memory H2 databases, fed by a startup import. */
+@SpringBootTest(properties = {
+        "snapshot.enabled=false",
+        "file.import.async=false",
+        "datasource.replica.enabled=true",
+        "datasource.replica.url=jdbc:h2:mem:replica-test;DB_CLOSE_DELAY=-1"
+})
+class ReplicaRoutingIntegrationTest {
+
+    @DynamicPropertySource
+    static void importFile(DynamicPropertyRegistry registry) throws IOException {
+        Path file = Files.createTempDirectory("replica-test").resolve("dataSource.txt");
+        Files.writeString(file, """
+                ACCOUNT_NUMBER|TRX_AMOUNT|DESCRIPTION|TRX_DATE|TRX_TIME|CUSTOMER_ID
+                8872838283|123.00|FUND TRANSFER|2019-09-12|11:11:11|222
+                8872838283|1123.00|ATM WITHDRWAL|2019-09-11|11:11:11|222
+                8872838299|55.00|BILL PAYMENT|2019-10-11|11:11:11|333
+                """);
+        registry.add("file.import.location", file::toString);
+    }
+
+    @Autowired
+    private TransactionRecordService service;
+
+    @Autowired
+    private ReplicaSynchronizer synchronizer;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Test
+    void testSearchesReadTheReplicaAndSeeCommittedUpdates() throws InterruptedException {
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        awaitTrue(synchronizer::isServing);
+        String count = "SELECT COUNT(*) FROM transaction_records";
+        assertEquals(3, primary.queryForObject(count, Long.class));
+        awaitTrue(() -> replica.queryForObject(count, Long.class) == 3);
+
+        // a row that only exists on the replica proves where the search ran
+        replica.update("INSERT INTO transaction_records (id, account_number, trx_amount, description, trx_date,"
+                + " trx_time, customer_id, version) VALUES (-1, 'REPLICA-ONLY', 1.00, 'X', DATE '2020-01-01',"
+                + " TIME '10:00:00', 'R1', 0)");
+        TransactionSearchCriteria criteria = TransactionSearchCriteria.builder().accountNumber("REPLICA-ONLY").build();
+        assertEquals(1, service.search(criteria, PageRequest.of(0, 10)).getNumberOfElements());
+
+        Long id = primary.queryForObject("SELECT MIN(id) FROM transaction_records", Long.class);
+        UpdateDescriptionRequest update = new UpdateDescriptionRequest();
+        update.setDescription("UPDATED ON PRIMARY");
+        service.updateDescription(id, update);
+        awaitTrue(() -> "UPDATED ON PRIMARY".equals(replica.queryForObject(
+                "SELECT description FROM transaction_records WHERE id = ?", String.class, id)));
+        List<TransactionRecordDTO> found = service.search(TransactionSearchCriteria.builder()
+                .description("updated on primary").build(), PageRequest.of(0, 10)).getContent();
+        assertEquals(1, found.size());
+        assertEquals(1, found.get(0).getVersion());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 100 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,22 @@
+package com.maybank.assessment.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class TransactionRecordBulkRepositoryImplTest {
+
+    @Test
+    void testUpdateDescriptionsWithNoUpdatesSkipsTheBatch() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        TransactionRecordBulkRepositoryImpl repository = new TransactionRecordBulkRepositoryImpl(jdbcTemplate);
+
+        assertEquals(0, repository.updateDescriptions(List.of()).length);
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,55 @@
+package com.maybank.assessment.repository;
+
+import com.maybank.assessment.dto.TransactionSearchCriteria;
+import com.maybank.assessment.entity.TransactionRecordEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+class TransactionRecordSpecificationsTest {
+
+    @Autowired
+    private TransactionRecordRepository repository;
+
+    @BeforeEach
+    void setup() {
+        repository.saveAll(List.of(
+                record("ABC PAYMENT"),
+                record("A_C PAYMENT"),
+                record("50% CASHBACK"),
+                record("500 CASHBACK"),
+                record("C:\\TRANSFER")));
+    }
+
+    private static TransactionRecordEntity record(String description) {
+        return TransactionRecordEntity.builder().accountNumber("8872838283").description(description).build();
+    }
+
+    private List<String> descriptionsMatching(String term) {
+        TransactionSearchCriteria criteria = TransactionSearchCriteria.builder().description(term).build();
+        return repository.findAll(TransactionRecordSpecifications.matching(criteria)).stream()
+                .map(TransactionRecordEntity::getDescription)
+                .toList();
+    }
+
+    @Test
+    void testDescriptionUnderscoreIsLiteral() {
+        assertEquals(List.of("A_C PAYMENT"), descriptionsMatching("a_c"));
+    }
+
+    @Test
+    void testDescriptionPercentIsLiteral() {
+        assertEquals(List.of("50% CASHBACK"), descriptionsMatching("50%"));
+    }
+
+    @Test
+    void testDescriptionBackslashIsLiteral() {
+        assertEquals(List.of("C:\\TRANSFER"), descriptionsMatching(":\\t"));
+    }
+}
@@ -0,0 +1,148 @@
+package com.maybank.assessment.service;
+
+import com.maybank.assessment.dto.TransactionRecordDTO;
+import com.maybank.assessment.dto.TransactionSearchCriteria;
+import com.maybank.assessment.event.TransactionDescriptionChangedEvent;
+import com.maybank.assessment.exception.DeadlineExceededException;
+import com.maybank.assessment.repository.QueryDeadline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingTransactionRecordServiceTest {
+
+    private TransactionRecordServiceImpl delegate;
+    private CachingTransactionRecordService service;
+
+    private final Pageable pageable = PageRequest.of(0, 10);
+
+    @BeforeEach
+    void setup() {
+        delegate = mock(TransactionRecordServiceImpl.class);
+        service = new CachingTransactionRecordService(delegate, 100, 60, new SimpleMeterRegistry());
+        Page<TransactionRecordDTO> page = new PageImpl<>(List.of(TransactionRecordDTO.builder().id(1L).build()));
+        when(delegate.search(any(TransactionSearchCriteria.class), any(Pageable.class))).thenReturn(page);
+    }
+
+    private static TransactionSearchCriteria byAccount(String accountNumber, String description) {
+        return TransactionSearchCriteria.builder().accountNumber(accountNumber).description(description).build();
+    }
+
+    @Test
+    void testRepeatedSearchIsServedFromCache() {
+        service.search(byAccount("111", "Transfer"), pageable);
+        service.search(byAccount("111", "TRANSFER"), pageable);
+
+        verify(delegate, times(1)).search(any(TransactionSearchCriteria.class), any(Pageable.class));
+        assertEquals(1, service.stats().hitCount());
+        assertEquals(1, service.stats().missCount());
+    }
+
+    @Test
+    void testDescriptionChangeInvalidatesOnlyAffectedEntries() {
+        TransactionSearchCriteria affected = byAccount("111", null);
+        TransactionSearchCriteria unaffected = byAccount("222", null);
+        TransactionSearchCriteria unfiltered = TransactionSearchCriteria.builder().description("fund").build();
+        service.search(affected, pageable);
+        service.search(unaffected, pageable);
+        service.search(unfiltered, pageable);
+
+        service.onDescriptionChanged(new TransactionDescriptionChangedEvent(1L, "111", "C1", "OLD", "NEW"));
+        service.search(affected, pageable);
+        service.search(unaffected, pageable);
+        service.search(unfiltered, pageable);
+
+        verify(delegate, times(2)).search(affected, pageable);
+        verify(delegate, times(1)).search(unaffected, pageable);
+        verify(delegate, times(2)).search(unfiltered, pageable);
+    }
+
+    @Test
+    void testIdenticalConcurrentSearchesRunOnce() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Page<TransactionRecordDTO> page = new PageImpl<>(List.of(TransactionRecordDTO.builder().id(7L).build()));
+        when(delegate.search(any(TransactionSearchCriteria.class), any(Pageable.class))).thenAnswer(invocation -> {
+            leaderStarted.countDown();
+            release.await();
+            return page;
+        });
+
+        CompletableFuture<Slice<TransactionRecordDTO>> leader =
+                CompletableFuture.supplyAsync(() -> service.search(byAccount("111", null), pageable));
+        leaderStarted.await();
+        CompletableFuture<Slice<TransactionRecordDTO>> waiter =
+                CompletableFuture.supplyAsync(() -> service.search(byAccount("111", null), pageable));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertSame(page, leader.get(5, TimeUnit.SECONDS));
+        assertSame(page, waiter.get(5, TimeUnit.SECONDS));
+        verify(delegate, times(1)).search(any(TransactionSearchCriteria.class), any(Pageable.class));
+    }
+
+    @Test
+    void testWaiterGivesUpAtItsOwnDeadline() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.search(any(TransactionSearchCriteria.class), any(Pageable.class))).thenAnswer(invocation -> {
+            leaderStarted.countDown();
+            release.await();
+            return Page.empty();
+        });
+        CompletableFuture<Slice<TransactionRecordDTO>> leader =
+                CompletableFuture.supplyAsync(() -> service.search(byAccount("111", null), pageable));
+        leaderStarted.await();
+
+        assertThrows(DeadlineExceededException.class, () -> QueryDeadline.within(Duration.ofMillis(50),
+                () -> service.search(byAccount("111", null), pageable)));
+
+        release.countDown();
+        leader.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testWaiterFailsWithTheLeadersDeadlineInsteadOfSearchingAgain() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.search(any(TransactionSearchCriteria.class), any(Pageable.class))).thenAnswer(invocation -> {
+            leaderStarted.countDown();
+            release.await();
+            throw new DeadlineExceededException("Search exceeded its deadline");
+        });
+        CompletableFuture<Slice<TransactionRecordDTO>> leader =
+                CompletableFuture.supplyAsync(() -> service.search(byAccount("111", null), pageable));
+        leaderStarted.await();
+        CompletableFuture<Slice<TransactionRecordDTO>> waiter =
+                CompletableFuture.supplyAsync(() -> service.search(byAccount("111", null), pageable));
+        Thread.sleep(100);
+        release.countDown();
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(DeadlineExceededException.class, failure.getCause());
+        assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        verify(delegate, times(1)).search(any(TransactionSearchCriteria.class), any(Pageable.class));
+    }
+}
@@ -0,0 +1,71 @@
+package com.maybank.assessment.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maybank.assessment.dto.ExportFormat;
+import com.maybank.assessment.dto.TransactionRecordDTO;
+import com.maybank.assessment.dto.TransactionSearchCriteria;
+import com.maybank.assessment.repository.TransactionRecordRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TransactionExportServiceImplTest {
+
+    @Test
+    void testCsvWritesNullFieldsEmpty() throws Exception {
+        TransactionRecordRepository repository = mock(TransactionRecordRepository.class);
+        when(repository.streamDtos(any(Specification.class), any(Sort.class))).thenReturn(Stream.of(
+                TransactionRecordDTO.builder()
+                        .accountNumber("8872838283")
+                        .trxAmount(new BigDecimal("123.00"))
+                        .description("FUND TRANSFER")
+                        .trxDate(LocalDate.of(2019, 9, 12))
+                        .trxTime(LocalTime.of(11, 11, 11))
+                        .customerId("222")
+                        .build(),
+                TransactionRecordDTO.builder().accountNumber("8872838283").trxAmount(new BigDecimal("5.00")).build()));
+        TransactionExportServiceImpl exportService = new TransactionExportServiceImpl(repository, new ObjectMapper());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(TransactionSearchCriteria.builder().build(), ExportFormat.CSV, out);
+
+        assertEquals(TransactionExportServiceImpl.HEADER + "\r\n"
+                        + "8872838283|123.00|FUND TRANSFER|2019-09-12|11:11:11|222\r\n"
+                        + "8872838283|5.00||||\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testCsvReplacesSeparatorsAndLineBreaksInFields() throws Exception {
+        TransactionRecordRepository repository = mock(TransactionRecordRepository.class);
+        when(repository.streamDtos(any(Specification.class), any(Sort.class))).thenReturn(Stream.of(
+                TransactionRecordDTO.builder()
+                        .accountNumber("8872838283")
+                        .trxAmount(new BigDecimal("123.00"))
+                        .description("FUND|TRANSFER\r\nREF")
+                        .trxDate(LocalDate.of(2019, 9, 12))
+                        .trxTime(LocalTime.of(11, 11, 11))
+                        .customerId("222")
+                        .build()));
+        TransactionExportServiceImpl exportService = new TransactionExportServiceImpl(repository, new ObjectMapper());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(TransactionSearchCriteria.builder().build(), ExportFormat.CSV, out);
+
+        assertEquals(TransactionExportServiceImpl.HEADER + "\r\n"
+                        + "8872838283|123.00|FUND TRANSFER  REF|2019-09-12|11:11:11|222\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -1,14 +1,28 @@
 package com.maybank.assessment.service;
 
+import com.maybank.assessment.aggregate.TransactionRollupStore;
+import com.maybank.assessment.dto.BulkDescriptionUpdate;
+import com.maybank.assessment.dto.BulkUpdateResultDTO;
+import com.maybank.assessment.dto.CursorPage;
+import com.maybank.assessment.dto.SearchTotalDTO;
+import com.maybank.assessment.dto.TransactionAggregateDTO;
+import com.maybank.assessment.dto.TransactionCursor;
 import com.maybank.assessment.dto.TransactionRecordDTO;
+import com.maybank.assessment.dto.TransactionSearchCriteria;
 import com.maybank.assessment.dto.UpdateDescriptionRequest;
 import com.maybank.assessment.entity.TransactionRecordEntity;
+import com.maybank.assessment.event.TransactionDescriptionChangedEvent;
+import com.maybank.assessment.exception.PreconditionFailedException;
+import com.maybank.assessment.exception.ResourceNotFoundException;
+import com.maybank.assessment.index.DescriptionTrigramIndex;
+import com.maybank.assessment.repository.TransactionRecordBulkRepository;
 import com.maybank.assessment.repository.TransactionRecordRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 
@@ -16,10 +30,17 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +49,18 @@ class TransactionRecordServiceImplTest {
     @Mock
     private TransactionRecordRepository repository;
 
+    @Mock
+    private DescriptionTrigramIndex descriptionIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionMetrics metrics;
+
+    @Mock
+    private TransactionRollupStore rollups;
+
     @InjectMocks
     private TransactionRecordServiceImpl service;
 
@@ -35,7 +68,7 @@ class TransactionRecordServiceImplTest {
     void testSearchWithDescriptionOnly() {
         Pageable pageable = PageRequest.of(0, 10);
 
-        TransactionRecordEntity record = TransactionRecordEntity.builder()
+        TransactionRecordDTO record = TransactionRecordDTO.builder()
                 .id(1L)
                 .accountNumber("12345")
                 .trxAmount(new BigDecimal("100.00"))
@@ -45,18 +78,81 @@ class TransactionRecordServiceImplTest {
                 .customerId("222")
                 .build();
 
-        Page<TransactionRecordEntity> page = new PageImpl<>(List.of(record));
+        Slice<TransactionRecordDTO> page = new SliceImpl<>(List.of(record), pageable, false);
 
-        // <-- stub the Specification overload, not the Example overload
-        when(repository.findAll(any(Specification.class), eq(pageable)))
+        // search reads through the DTO projection, not managed entities
+        when(repository.findDtos(any(Specification.class), eq(pageable)))
                 .thenReturn(page);
 
-        Page<TransactionRecordDTO> result = service.search(null, null, "transfer", pageable);
+        Slice<TransactionRecordDTO> result = service.search(null, null, "transfer", pageable);
 
-        assertEquals(1, result.getTotalElements());
+        assertEquals(1, result.getNumberOfElements());
+        assertFalse(result.hasNext());
         assertEquals("FUND TRANSFER", result.getContent().get(0).getDescription());
     }
 
+    @Test
+    void testSearchSkipsQueryWhenDescriptionIndexHasNoCandidates() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(descriptionIndex.candidates("payroll")).thenReturn(new long[0]);
+
+        Slice<TransactionRecordDTO> result = service.search(null, null, "payroll", pageable);
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testCountTotalIsExactForSingleAccount() {
+        when(rollups.forAccount("12345")).thenReturn(Optional.of(rollup(42, null, null)));
+
+        SearchTotalDTO total = service.countTotal(TransactionSearchCriteria.builder().accountNumber("12345").build());
+
+        assertEquals(42, total.getCount());
+        assertTrue(total.isExact());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testCountTotalIsExactZeroWhenAccountOrCustomerHasNoRows() {
+        when(rollups.forAccount("12345")).thenReturn(Optional.of(rollup(42, null, null)));
+        when(rollups.forCustomer("222")).thenReturn(Optional.empty());
+        when(rollups.forCustomer("333")).thenReturn(Optional.of(rollup(7, null, null)));
+        when(rollups.forAccount("99999")).thenReturn(Optional.of(rollup(0, null, null)));
+
+        SearchTotalDTO missingCustomer = service.countTotal(TransactionSearchCriteria.builder()
+                .accountNumber("12345").customerId("222").build());
+        SearchTotalDTO emptyAccount = service.countTotal(TransactionSearchCriteria.builder()
+                .accountNumber("99999").customerId("333").build());
+
+        assertEquals(0, missingCustomer.getCount());
+        assertTrue(missingCustomer.isExact());
+        assertEquals(0, emptyAccount.getCount());
+        assertTrue(emptyAccount.isExact());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testCountTotalEstimatesDateRangeFromRollupSpan() {
+        when(rollups.forCustomer("222")).thenReturn(Optional.of(
+                rollup(100, LocalDate.of(2019, 9, 1), LocalDate.of(2019, 9, 10))));
+        TransactionSearchCriteria criteria = TransactionSearchCriteria.builder()
+                .customerId("222")
+                .fromDate(LocalDate.of(2019, 9, 9))
+                .build();
+
+        SearchTotalDTO total = service.countTotal(criteria);
+
+        assertEquals(20, total.getCount());
+        assertFalse(total.isExact());
+
+        criteria.setFromDate(LocalDate.of(2019, 10, 1));
+        SearchTotalDTO outside = service.countTotal(criteria);
+
+        assertEquals(0, outside.getCount());
+        assertTrue(outside.isExact());
+    }
+
     @Test
     void testUpdateDescription() {
         TransactionRecordEntity record = TransactionRecordEntity.builder()
@@ -81,4 +177,86 @@ class TransactionRecordServiceImplTest {
 
         assertEquals("NEW DESC", updated.getDescription());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSearchAfterReturnsNextCursorWhenMoreRowsExist() {
+        TransactionRecordDTO first = TransactionRecordDTO.builder()
+                .id(1L)
+                .accountNumber("12345")
+                .trxAmount(new BigDecimal("100.00"))
+                .description("FUND TRANSFER")
+                .trxDate(LocalDate.of(2023, 1, 1))
+                .trxTime(LocalTime.of(12, 0))
+                .customerId("222")
+                .build();
+        TransactionRecordDTO second = TransactionRecordDTO.builder()
+                .id(2L)
+                .accountNumber("12345")
+                .trxAmount(new BigDecimal("50.00"))
+                .description("ATM WITHDRAWAL")
+                .trxDate(LocalDate.of(2023, 1, 2))
+                .trxTime(LocalTime.of(9, 30))
+                .customerId("222")
+                .build();
+
+        when(repository.findDtos(any(Specification.class), any(Sort.class), eq(2))).thenReturn(List.of(first, second));
+
+        CursorPage<TransactionRecordDTO> result =
+                service.searchAfter(TransactionSearchCriteria.builder().accountNumber("12345").build(), null, 1);
+
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.isHasNext());
+        TransactionCursor cursor = TransactionCursor.decode(result.getNextCursor());
+        assertEquals(new TransactionCursor(LocalDate.of(2023, 1, 1), LocalTime.of(12, 0), 1L), cursor);
+    }
+
+    @Test
+    void testSearchAfterRejectsMalformedCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.searchAfter(TransactionSearchCriteria.builder().build(), "not-a-cursor", 10));
+    }
+
+    @Test
+    void testBulkUpdateReportsOutcomePerEntry() {
+        List<BulkDescriptionUpdate> updates = List.of(
+                new BulkDescriptionUpdate(1L, 0, "A"),
+                new BulkDescriptionUpdate(2L, 0, "B"),
+                new BulkDescriptionUpdate(3L, 0, "C"));
+        when(repository.updateDescriptions(updates)).thenReturn(new int[]{1, 0, 0});
+        when(repository.findVersions(anyCollection())).thenReturn(Map.of(
+                1L, new TransactionRecordBulkRepository.RowVersion(1L, 1, "111", "C1"),
+                2L, new TransactionRecordBulkRepository.RowVersion(2L, 4, "222", "C2")));
+
+        List<BulkUpdateResultDTO> results = service.updateDescriptions(updates);
+
+        assertEquals(BulkUpdateResultDTO.Outcome.OK, results.get(0).getOutcome());
+        assertEquals(1, results.get(0).getVersion());
+        assertEquals(BulkUpdateResultDTO.Outcome.CONFLICT, results.get(1).getOutcome());
+        assertEquals(4, results.get(1).getVersion());
+        assertEquals(BulkUpdateResultDTO.Outcome.NOT_FOUND, results.get(2).getOutcome());
+        verify(eventPublisher).publishEvent(new TransactionDescriptionChangedEvent(1L, "111", "C1", null, "A"));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void testConditionalUpdateDistinguishesStaleVersionFromMissingRow() {
+        UpdateDescriptionRequest request = new UpdateDescriptionRequest();
+        request.setDescription("Updated");
+        when(repository.updateDescriptionIfVersion(anyLong(), eq(2), eq("Updated"))).thenReturn(Optional.empty());
+        when(repository.existsById(1L)).thenReturn(true);
+        when(repository.existsById(9L)).thenReturn(false);
+
+        assertThrows(PreconditionFailedException.class, () -> service.updateDescription(1L, request, 2));
+        assertThrows(ResourceNotFoundException.class, () -> service.updateDescription(9L, request, 2));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private static TransactionAggregateDTO rollup(long count, LocalDate first, LocalDate last) {
+        return TransactionAggregateDTO.builder()
+                .totalAmount(BigDecimal.ZERO)
+                .transactionCount(count)
+                .firstTrxDate(first)
+                .lastTrxDate(last)
+                .build();
+    }
+}
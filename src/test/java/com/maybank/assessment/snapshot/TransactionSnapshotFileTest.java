@@ -0,0 +1,72 @@
+package com.maybank.assessment.snapshot;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionSnapshotFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static final List<TransactionSnapshotFile.Row> ROWS = List.of(
+            new TransactionSnapshotFile.Row(1L, "8872838283", new BigDecimal("123.00"), "FUND TRANSFER",
+                    LocalDate.of(2019, 9, 12), LocalTime.of(11, 11, 11), "222", 0, -4_242_424_242L),
+            new TransactionSnapshotFile.Row(7L, "8872838283", new BigDecimal("-0.05"), "Kopi ☕",
+                    LocalDate.of(2019, 9, 11), LocalTime.of(0, 0), "222", 3, 17L),
+            new TransactionSnapshotFile.Row(9L, null, null, null, null, null, null, 1, null));
+
+    private Path write() throws IOException {
+        Path file = tempDir.resolve("transactions.snap");
+        try (TransactionSnapshotFile.Writer writer = new TransactionSnapshotFile.Writer(file)) {
+            for (TransactionSnapshotFile.Row row : ROWS) {
+                writer.add(row);
+            }
+            writer.commit();
+        }
+        return file;
+    }
+
+    @Test
+    void testRowsRoundTrip() throws IOException {
+        Path file = write();
+
+        List<TransactionSnapshotFile.Row> read = new ArrayList<>();
+        TransactionSnapshotFile.Header header = TransactionSnapshotFile.read(file, read::add);
+
+        assertEquals(ROWS, read);
+        assertEquals(3, header.rowCount());
+        assertEquals(9, header.maxId());
+        assertFalse(Files.exists(tempDir.resolve("transactions.snap.tmp")));
+    }
+
+    @Test
+    void testCorruptedFileIsRejectedBeforeAnyRow() throws IOException {
+        Path file = write();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), TransactionSnapshotFile.HEADER_BYTES + 3);
+        }
+
+        List<TransactionSnapshotFile.Row> read = new ArrayList<>();
+        IOException error = assertThrows(IOException.class, () -> TransactionSnapshotFile.read(file, read::add));
+
+        assertTrue(error.getMessage().contains("checksum"));
+        assertTrue(read.isEmpty());
+    }
+}